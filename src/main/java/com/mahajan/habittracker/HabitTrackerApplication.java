@@ -1,12 +1,15 @@
 package com.mahajan.habittracker;
 
+import com.mahajan.habittracker.config.NativeRuntimeHints;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.event.EventListener;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 @Slf4j
 public class HabitTrackerApplication {
 
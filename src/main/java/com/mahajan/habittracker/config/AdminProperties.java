@@ -0,0 +1,20 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operator accounts ({@code app.admin.emails}). These users get the ADMIN authority,
+ * which is required for /api/admin/**.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admin")
+public class AdminProperties {
+
+    private List<String> emails = new ArrayList<>();
+}
@@ -0,0 +1,46 @@
+package com.mahajan.habittracker.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mahajan.habittracker.web.EpochDayModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) encodings of the API,
+ * chosen by the client's Accept (and Content-Type for request bodies). JSON stays the default.
+ *
+ * Spring MVC adds converters for both formats by itself once the Jackson modules are on the classpath,
+ * but with bare mappers; these beans replace them (Boot swaps a default converter for a bean of the same
+ * type) with mappers built like the JSON one, plus {@link EpochDayModule} so dates are sent as epoch days.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    /**
+     * Builds a mapper for a binary format from the application's Jackson settings. Public so the
+     * serialization benchmark measures exactly what the converters write.
+     */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        // Registered after the builder's modules, so it takes precedence over JavaTimeModule's LocalDate handling
+        return builder.factory(factory).build().registerModule(new EpochDayModule());
+    }
+}
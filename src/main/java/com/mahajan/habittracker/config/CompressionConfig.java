@@ -0,0 +1,26 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.web.DeferredJsonFlushFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Response compression for the API. Tomcat gzips JSON bodies at or above server.compression.min-response-size
+ * (and the CBOR/Smile encodings, see application.properties); the filter here makes that threshold hold for
+ * bodies written by Jackson.
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeferredJsonFlushFilter> deferredJsonFlushFilter() {
+        FilterRegistrationBean<DeferredJsonFlushFilter> registration = new FilterRegistrationBean<>(new DeferredJsonFlushFilter(
+                List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, BinaryFormatConfig.APPLICATION_SMILE)));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
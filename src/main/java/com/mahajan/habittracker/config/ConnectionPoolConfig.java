@@ -0,0 +1,52 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.datasource.ConnectionLeakDetector;
+import com.mahajan.habittracker.datasource.ConnectionPoolMonitor;
+import com.mahajan.habittracker.datasource.JdbcTracingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+/**
+ * Hooks connection pool instrumentation into the DataSource beans.
+ *
+ * Every HikariDataSource (the auto-configured one, or the primary and replica pools) is registered with
+ * the ConnectionPoolMonitor before its pool starts. The application-facing "dataSource" bean is wrapped
+ * by the ConnectionLeakDetector so connection holds can be tied to the request that made them, and, when
+ * tracing is enabled, by a JdbcTracingDataSource so every statement gets its own span.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ConnectionPoolProperties.class)
+public class ConnectionPoolConfig {
+
+    @Bean
+    static BeanPostProcessor connectionPoolInstrumentation(ObjectProvider<ConnectionPoolMonitor> monitor,
+                                                          ObjectProvider<ConnectionLeakDetector> leakDetector,
+                                                          ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    monitor.getObject().register(hikari);
+                }
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    DataSource tracked = leakDetector.getObject().wrap(dataSource);
+                    Tracer activeTracer = tracer.getIfAvailable();
+                    return activeTracer == null || activeTracer == Tracer.NOOP
+                            ? tracked
+                            : new JdbcTracingDataSource(tracked, activeTracer);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool instrumentation and adaptive sizing ({@code app.datasource.pool.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class ConnectionPoolProperties {
+
+    /**
+     * A connection held longer than this is reported as a possible leak, with the request that borrowed it.
+     */
+    private Duration leakDetectionThreshold = Duration.ofSeconds(10);
+
+    /**
+     * How often held connections are checked against the leak threshold.
+     */
+    private Duration leakCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Number of most recent leak reports kept for /api/admin/pool.
+     */
+    private int leakReportSize = 50;
+
+    private Adaptive adaptive = new Adaptive();
+
+    @Getter
+    @Setter
+    public static class Adaptive {
+
+        private boolean enabled = false;
+
+        /**
+         * Bounds for maximumPoolSize. Keep maxSize within the database's connection cap
+         * (shared by every instance and pool).
+         */
+        private int minSize = 2;
+        private int maxSize = 10;
+
+        /**
+         * Average connection acquire time above which the pool grows.
+         */
+        private Duration targetWait = Duration.ofMillis(20);
+
+        private Duration interval = Duration.ofSeconds(15);
+
+        /**
+         * Connections added per interval while starved.
+         */
+        private int growStep = 2;
+
+        /**
+         * Consecutive quiet intervals (average wait under a quarter of the target) before the pool shrinks by one.
+         */
+        private int quietIntervalsBeforeShrink = 4;
+    }
+}
@@ -24,16 +24,6 @@ public class CorsConfig {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(@NonNull CorsRegistry registry) {
-                registry.addMapping("/health")
-                        .allowedOrigins(
-                                "http://localhost:3000",
-                                "https://habit-tracker-web-af6i.vercel.app"
-                        )
-                        .allowedMethods("GET", "OPTIONS")
-                        .allowedHeaders("*")
-                        .allowCredentials(true)
-                        .maxAge(3600);
-                
                 registry.addMapping("/api/**")
                         .allowedOrigins(
                                 "http://localhost:3000",
@@ -41,6 +31,7 @@ public class CorsConfig {
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag")
                         .allowCredentials(true)
                         .maxAge(3600);
             }
@@ -60,11 +51,11 @@ public class CorsConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/health", configuration);
         source.registerCorsConfiguration("/api/**", configuration);
         return source;
     }
@@ -0,0 +1,13 @@
+package com.mahajan.habittracker.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server-sent change events: ChangeEventHub holds the open /api/events streams and is fed by ChangeLogService
+ * after each commit. EventController opens the streams.
+ */
+@Configuration
+@EnableConfigurationProperties(EventStreamProperties.class)
+public class EventStreamConfig {
+}
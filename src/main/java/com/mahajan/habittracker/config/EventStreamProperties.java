@@ -0,0 +1,56 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Server-sent change events on /api/events ({@code app.events.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events")
+public class EventStreamProperties {
+
+    /**
+     * Events queued per connection. A client that falls this far behind is disconnected; it reconnects
+     * and catches up through /api/sync instead of holding server memory.
+     */
+    private int bufferSize = 64;
+
+    /**
+     * A comment line is sent on every stream that had nothing to send for this long, so proxies keep the
+     * connection open and dead connections are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    /**
+     * Connections are closed after this long and the client reconnects, which re-checks its token.
+     */
+    private Duration maxConnectionAge = Duration.ofMinutes(15);
+
+    /**
+     * Open streams per user; the oldest is closed when another device connects.
+     */
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * Threads kept for writing queued events to the connections. More are started while these are busy, e.g.
+     * blocked on a slow client, and exit after a minute idle. Unused in virtual-thread mode
+     * (spring.threads.virtual.enabled), where every stream's writes get a virtual thread of their own.
+     */
+    private int senderThreads = 2;
+
+    /**
+     * Most threads writing at once. A stream with events to send while all of them are blocked is closed
+     * (counted as stalled); its client reconnects and catches up through /api/sync.
+     */
+    private int maxSenderThreads = 32;
+
+    /**
+     * Reconnect delay sent to clients (the SSE retry field).
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+}
@@ -0,0 +1,45 @@
+package com.mahajan.habittracker.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+
+import java.util.Set;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Liveness ({@code /livez}) and readiness ({@code /readyz}) probes on the application port.
+ *
+ * Both are Actuator health groups (see management.endpoint.health.* in application.properties): liveness
+ * only reflects the application's own state, readiness adds the cached database check. The platform
+ * probes them every few seconds, so they skip everything a real request needs: the security filter chain
+ * (and with it CORS and JWT parsing) and HTTP observations (no metrics, traces or logs per probe).
+ */
+@Configuration
+@EnableConfigurationProperties(HealthProbeProperties.class)
+public class HealthProbeConfig {
+
+    public static final String LIVENESS_PATH = "/livez";
+    public static final String READINESS_PATH = "/readyz";
+
+    private static final Set<String> PROBE_PATHS = Set.of(LIVENESS_PATH, READINESS_PATH);
+
+    /**
+     * Spring Security warns that ignored paths get none of its protections; that is the point here, the
+     * probes return only a status. Plain path matchers, so matching does not go through the MVC handler lookup.
+     */
+    @Bean
+    public WebSecurityCustomizer ignoreHealthProbes() {
+        return web -> web.ignoring().requestMatchers(antMatcher(LIVENESS_PATH), antMatcher(READINESS_PATH));
+    }
+
+    @Bean
+    public ObservationPredicate skipHealthProbeObservations() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && PROBE_PATHS.contains(request.getCarrier().getRequestURI()));
+    }
+}
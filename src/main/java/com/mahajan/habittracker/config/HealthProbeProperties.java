@@ -0,0 +1,31 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background database check behind the readiness probe ({@code app.health.database.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.health.database")
+public class HealthProbeProperties {
+
+    /**
+     * How often the database is checked. Probes read the last result and never touch the pool.
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * Passed to Connection.isValid.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * A result older than this counts as DOWN, e.g. when the check itself is stuck waiting for a connection.
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+}
@@ -0,0 +1,115 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.datasource.JdbcTimingSessionListener;
+import com.mahajan.habittracker.dto.AuthResponse;
+import com.mahajan.habittracker.dto.ChangeEvent;
+import com.mahajan.habittracker.dto.ConnectionLeakResponse;
+import com.mahajan.habittracker.dto.ConnectionPoolReport;
+import com.mahajan.habittracker.dto.ConnectionPoolStatsResponse;
+import com.mahajan.habittracker.dto.DashboardHabitResponse;
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
+import com.mahajan.habittracker.dto.HabitExportRow;
+import com.mahajan.habittracker.dto.HabitHeatmapResponse;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.HabitResponse;
+import com.mahajan.habittracker.dto.HabitStatsResponse;
+import com.mahajan.habittracker.dto.HeatmapResponse;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.dto.SyncResponse;
+import com.mahajan.habittracker.dto.TodayDashboardResponse;
+import com.mahajan.habittracker.dto.UserResponse;
+import com.mahajan.habittracker.exceptions.ErrorResponse;
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.HabitCompletion;
+import com.mahajan.habittracker.model.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reachability metadata for the native image (the native Maven profile) that Spring AOT cannot infer
+ * from the bean definitions. Libraries with published metadata (Hibernate, Caffeine, PostgreSQL, H2)
+ * get theirs from the GraalVM reachability metadata repository.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Classes JJWT 0.11 instantiates by name; jjwt-impl and jjwt-jackson are runtime-only dependencies.
+     */
+    static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    /**
+     * Request and response bodies. Handler method signatures are covered by Spring AOT, but nested and
+     * exception-handler types are listed too so the JSON shape never depends on that inference.
+     */
+    static final Class<?>[] JSON_TYPES = {
+            SignupRequest.class, LoginRequest.class, AuthResponse.class, HabitRequest.class, HabitResponse.class,
+            HabitCompletionResponse.class, HabitStatsResponse.class, HeatmapResponse.class, HabitHeatmapResponse.class,
+            TodayDashboardResponse.class, DashboardHabitResponse.class, UserResponse.class,
+            ConnectionPoolReport.class, ConnectionPoolStatsResponse.class, ConnectionLeakResponse.class,
+            SyncResponse.class, ChangeEvent.class, ErrorResponse.class};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Entities: Hibernate reads and writes fields and calls the no-arg constructor reflectively
+        for (Class<?> entity : List.of(User.class, Habit.class, HabitCompletion.class, ChangeLogEntry.class)) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // JPQL "select new ..." projections are instantiated through their constructor
+        for (Class<?> projection : List.of(HabitCompletionDay.class, HabitCompletionResponse.class, HabitExportRow.class)) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Jackson JSR-310 module, registered by name by Jackson2ObjectMapperBuilder
+        hints.reflection().registerType(TypeReference.of("com.fasterxml.jackson.datatype.jsr310.JavaTimeModule"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Second-level cache: provider named in application.properties, region config read by Caffeine (HOCON)
+        hints.reflection().registerType(
+                TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("application.conf");
+        hints.resources().registerPattern("reference.conf");
+
+        // Hibernate creates the session listener from its class name (hibernate.session.events.auto)
+        hints.reflection().registerType(JdbcTimingSessionListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // ConnectionLeakDetector and JdbcTracingDataSource hand out JDK proxies of Connection and its statements
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+    }
+}
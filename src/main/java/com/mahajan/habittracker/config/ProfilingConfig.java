@@ -0,0 +1,30 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.profiling.ContinuousRecording;
+import com.mahajan.habittracker.profiling.SlowRequestProfilingFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Continuous JFR profiling: ContinuousRecording keeps the recording running, and the slow-request filter
+ * triggers automatic dumps. Manual dumps are served by AdminController.
+ */
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig {
+
+    /**
+     * Outermost filter, so the measured time includes the security chain and SQL statement counting.
+     */
+    @Bean
+    public FilterRegistrationBean<SlowRequestProfilingFilter> slowRequestProfilingFilter(ContinuousRecording recording,
+                                                                                       ProfilingProperties properties) {
+        FilterRegistrationBean<SlowRequestProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SlowRequestProfilingFilter(recording, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
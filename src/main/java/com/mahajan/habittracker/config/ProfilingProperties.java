@@ -0,0 +1,63 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Continuous JFR recording and its dumps ({@code app.profiling.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Built-in JFR configuration the recording starts from ("default" is the low-overhead one).
+     */
+    private String configuration = "default";
+
+    /**
+     * Overrides applied on top of the configuration, keyed as in a .jfc file (e.g. {@code jdk.SocketRead#threshold}).
+     */
+    private Map<String, String> settings = new LinkedHashMap<>(Map.of(
+            "jdk.SocketRead#threshold", "10 ms",
+            "jdk.JavaMonitorEnter#threshold", "10 ms"));
+
+    /**
+     * How much history the recording keeps on disk; bounds the largest dump window.
+     */
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * Window dumped when the request does not name one.
+     */
+    private Duration defaultWindow = Duration.ofMinutes(5);
+
+    private Path dumpDirectory = Path.of(System.getProperty("java.io.tmpdir"), "habit-tracker-jfr");
+
+    /**
+     * Oldest dumps are deleted beyond this many files.
+     */
+    private int maxDumps = 10;
+
+    /**
+     * A request slower than this dumps the recording automatically. Unset to disable.
+     */
+    private Duration slowRequestThreshold = Duration.ofSeconds(2);
+
+    /**
+     * Minimum time between automatic dumps, so one incident produces one file rather than hundreds.
+     */
+    private Duration autoDumpCooldown = Duration.ofMinutes(10);
+}
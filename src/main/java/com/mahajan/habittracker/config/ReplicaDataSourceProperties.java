@@ -0,0 +1,27 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the optional read replica ({@code app.datasource.replica.*}).
+ * Username and password fall back to the primary's when not set.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+
+    /**
+     * How long a user's reads stay on the primary after they commit a write. Writes are remembered per
+     * instance, so this only holds when the user's requests reach the instance that made the write.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -4,8 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mahajan.habittracker.exceptions.ErrorResponse;
 import com.mahajan.habittracker.exceptions.GlobalExceptionHandler;
 import com.mahajan.habittracker.security.JwtAuthFilter;
+import com.mahajan.habittracker.security.TimedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -15,7 +20,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractAuthenticationFilterConfigurer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,6 +28,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import java.io.IOException;
 
 @Configuration
+@EnableConfigurationProperties(AdminProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -34,11 +39,11 @@ public class SecurityConfig {
 
     /**
      * Defines the PasswordEncoder bean used across the application.
-     * BCrypt is the recommended encoder for production.
+     * BCrypt is the recommended encoder for production; verifications are timed.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedBCryptPasswordEncoder(meterRegistry);
     }
 
     /**
@@ -61,8 +66,11 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/health").permitAll()        // health check is public
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // streamed bodies were authorized on the original request
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll() // probes and the scraper
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority("ADMIN") // the rest of actuator, in case it shares the API port
                         .requestMatchers("/api/auth/**").permitAll()   // signup/login are public
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN") // operators listed in app.admin.emails
                         .anyRequest().authenticated()                    // everything else requires auth
                 )
                 .exceptionHandling(ex -> ex
@@ -0,0 +1,43 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.datasource.JdbcTimingSessionListener;
+import com.mahajan.habittracker.datasource.SqlStatementCountFilter;
+import com.mahajan.habittracker.datasource.StatementCountingInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Counts SQL statements and JDBC time per HTTP request.
+ *
+ * Hibernate reports each prepared statement through the StatementCountingInspector and JDBC execution
+ * time through a JdbcTimingSessionListener; the SqlStatementCountFilter wraps each request in a recording
+ * and checks it against the configured budgets.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatementProperties.class)
+public class SqlStatementConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * Registered ahead of the security filter chain so statements run during authentication are counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(SqlStatementProperties properties) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-request SQL statement counting ({@code app.sql.statements.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.statements")
+public class SqlStatementProperties {
+
+    /**
+     * Adds X-SQL-Statement-Count and X-SQL-Time-Ms to every response. Off in prod.
+     */
+    private boolean headers = false;
+
+    /**
+     * A request that prepares the same statement this many times is logged as a possible N+1.
+     */
+    private int repeatThreshold = 5;
+
+    /**
+     * Statement budgets per endpoint; a request over its budget is logged as a warning.
+     */
+    private List<Budget> budgets = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        /**
+         * HTTP method and mapping pattern, e.g. {@code GET /api/habits/{habitId}}.
+         */
+        private String endpoint;
+
+        private int maxStatements;
+    }
+}
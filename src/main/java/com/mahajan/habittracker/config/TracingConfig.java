@@ -0,0 +1,44 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.tracing.ControllerSpanInterceptor;
+import com.mahajan.habittracker.tracing.FileSpanExporter;
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * End-to-end request tracing (Micrometer Tracing over OpenTelemetry).
+ *
+ * Spring Boot traces each HTTP request; JwtAuthFilter, StreakCalculationService and the JDBC layer
+ * (JdbcTracingDataSource) add their own spans, and this config adds one per controller method. Spans go to
+ * the OTLP endpoint when management.otlp.tracing.endpoint is set, and to a JSON-lines file when
+ * app.tracing.file is set.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public WebMvcConfigurer controllerSpans(Tracer tracer) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(new ControllerSpanInterceptor(tracer));
+            }
+        };
+    }
+
+    /**
+     * Picked up by Spring Boot's span processor next to the OTLP exporter.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "file")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties) {
+        return new FileSpanExporter(properties.getFile());
+    }
+}
@@ -0,0 +1,21 @@
+package com.mahajan.habittracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Local span export ({@code app.tracing.*}). OTLP export is configured with management.otlp.tracing.endpoint.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    /**
+     * When set, finished spans are also appended to this file as JSON lines (for use without a collector).
+     */
+    private Path file;
+}
@@ -0,0 +1,48 @@
+package com.mahajan.habittracker.controller;
+
+import com.mahajan.habittracker.datasource.ConnectionLeakDetector;
+import com.mahajan.habittracker.datasource.ConnectionPoolMonitor;
+import com.mahajan.habittracker.dto.ConnectionPoolReport;
+import com.mahajan.habittracker.dto.JfrDumpResponse;
+import com.mahajan.habittracker.profiling.ContinuousRecording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Operator endpoints. Restricted to the ADMIN authority in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ConnectionPoolMonitor poolMonitor;
+    private final ConnectionLeakDetector leakDetector;
+    private final ContinuousRecording recording;
+
+    /**
+     * Returns live gauges and acquire/usage figures for every connection pool, plus the most recent
+     * connection leak reports with the request that held the connection.
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<ConnectionPoolReport> getPoolReport() {
+        return ResponseEntity.ok(new ConnectionPoolReport(poolMonitor.snapshot(), leakDetector.getRecentLeaks()));
+    }
+
+    /**
+     * Dumps the last {@code minutes} of the continuous JFR recording (default app.profiling.default-window) to a
+     * file on the server and returns where it was written.
+     */
+    @PostMapping("/profiling/dump")
+    public ResponseEntity<JfrDumpResponse> dumpRecording(@RequestParam(required = false) Integer minutes) {
+        Duration window = minutes != null ? Duration.ofMinutes(Math.max(1, minutes)) : null;
+        return ResponseEntity.ok(recording.dump(window, ContinuousRecording.MANUAL));
+    }
+}
@@ -0,0 +1,31 @@
+package com.mahajan.habittracker.controller;
+
+import com.mahajan.habittracker.dto.TodayDashboardResponse;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.DashboardService;
+import com.mahajan.habittracker.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UserService userService;
+
+    /**
+     * Returns every habit of the authenticated user with its completed-today flag and streaks.
+     */
+    @GetMapping("/today")
+    public ResponseEntity<TodayDashboardResponse> getToday(
+            @AuthenticationPrincipal(expression = "username") String email) {
+        User user = userService.getUserByEmail(email);
+        return ResponseEntity.ok(dashboardService.getTodayDashboard(user));
+    }
+}
@@ -0,0 +1,35 @@
+package com.mahajan.habittracker.controller;
+
+import com.mahajan.habittracker.events.ChangeEventHub;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.ChangeLogService;
+import com.mahajan.habittracker.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final ChangeEventHub changeEventHub;
+    private final ChangeLogService changeLogService;
+    private final UserService userService;
+
+    /**
+     * Streams the user's habit and completion changes as server-sent events. The first event is
+     * {@code ready} with the current sync cursor; each {@code change} event's id is the cursor after it.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal(expression = "username") String email) {
+        User user = userService.getUserByEmail(email);
+        return changeEventHub.subscribe(user.getId(), () -> Map.of("cursor", changeLogService.getLatestCursor(user)));
+    }
+}
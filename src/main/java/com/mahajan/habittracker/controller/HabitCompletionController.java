@@ -1,15 +1,20 @@
 package com.mahajan.habittracker.controller;
 
 import com.mahajan.habittracker.dto.HabitCompletionResponse;
+import com.mahajan.habittracker.dto.HabitStatsResponse;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.DataVersionService;
 import com.mahajan.habittracker.service.HabitCompletionService;
 import com.mahajan.habittracker.service.HabitService;
+import com.mahajan.habittracker.service.HabitStatsService;
 import com.mahajan.habittracker.service.UserService;
+import com.mahajan.habittracker.web.Representation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,27 +26,28 @@ public class HabitCompletionController {
     private final HabitCompletionService completionService;
     private final HabitService habitService;
     private final UserService userService;
+    private final HabitStatsService statsService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Returns all habit completions for the given date (or today if not provided) for the authenticated user.
+     * Answers 304 before any other query when If-None-Match still matches the user's data version.
      */
     @GetMapping("/api/habits/completions")
     public ResponseEntity<List<HabitCompletionResponse>> getCompletionsByDate(
             @RequestParam(required = false) String date,
-            @AuthenticationPrincipal(expression = "username") String email) {
+            @AuthenticationPrincipal(expression = "username") String email,
+            WebRequest webRequest) {
 
-        User currentUser = userService.getUserByEmail(email);
+        return dataVersionService.readIfModified(email, Representation.negotiate(webRequest), webRequest::checkNotModified, eTag -> {
+            User currentUser = userService.getUserByEmail(email);
 
-        LocalDate completionDate = (date != null)
-                ? LocalDate.parse(date)
-                : LocalDate.now();
-
-        var responses = completionService.getCompletionsByDate(currentUser, completionDate)
-                .stream()
-                .map(HabitCompletionResponse::fromEntity)
-                .toList();
+            LocalDate completionDate = (date != null)
+                    ? LocalDate.parse(date)
+                    : LocalDate.now();
 
-        return ResponseEntity.ok(responses);
+            return ResponseEntity.ok().eTag(eTag).body(completionService.getCompletionsByDate(currentUser, completionDate));
+        });
     }
 
     /**
@@ -83,20 +89,33 @@ public class HabitCompletionController {
 
     /**
      * Returns all completion dates for the given habit and authenticated user.
+     * Answers 304 before any other query when If-None-Match still matches the user's data version.
      */
     @GetMapping("/api/habits/{habitId}/completions")
     public ResponseEntity<List<HabitCompletionResponse>> getCompletions(
+            @PathVariable Long habitId,
+            @AuthenticationPrincipal(expression = "username") String email,
+            WebRequest webRequest) {
+
+        return dataVersionService.readIfModified(email, Representation.negotiate(webRequest), webRequest::checkNotModified, eTag -> {
+            User currentUser = userService.getUserByEmail(email);
+            Habit habit = habitService.getHabitByIdForUser(habitId, currentUser);
+
+            return ResponseEntity.ok().eTag(eTag).body(completionService.getCompletionResponsesForHabit(habit, currentUser));
+        });
+    }
+
+    /**
+     * Returns completion rates over the last 7/30/90/365 days and the per-weekday distribution for the given habit.
+     */
+    @GetMapping("/api/habits/{habitId}/stats")
+    public ResponseEntity<HabitStatsResponse> getStats(
             @PathVariable Long habitId,
             @AuthenticationPrincipal(expression = "username") String email) {
 
         User currentUser = userService.getUserByEmail(email);
         Habit habit = habitService.getHabitByIdForUser(habitId, currentUser);
 
-        var responses = completionService.getAllCompletionsForHabit(habit, currentUser)
-                .stream()
-                .map(HabitCompletionResponse::fromEntity)
-                .toList();
-
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(statsService.getStatsForHabit(habit, currentUser));
     }
 }
@@ -1,40 +1,81 @@
 package com.mahajan.habittracker.controller;
 
+import com.mahajan.habittracker.dto.HabitFields;
 import com.mahajan.habittracker.dto.HabitRequest;
 import com.mahajan.habittracker.dto.HabitResponse;
+import com.mahajan.habittracker.dto.HeatmapResponse;
+import com.mahajan.habittracker.dto.StreakResult;
+import com.mahajan.habittracker.exceptions.InvalidYearException;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.DataVersionService;
 import com.mahajan.habittracker.service.HabitService;
 import com.mahajan.habittracker.service.UserService;
+import com.mahajan.habittracker.web.Representation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.time.Year;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/habits")
 @RequiredArgsConstructor
 public class HabitController {
 
+    // Four-digit years; Year.of rejects values far outside this with a DateTimeException (a 500)
+    static final int MIN_HEATMAP_YEAR = 1;
+    static final int MAX_HEATMAP_YEAR = 9999;
+
     private final HabitService habitService;
     private final UserService userService;
+    private final DataVersionService dataVersionService;
 
+    /**
+     * Returns all habits with streaks, or only the fields listed in {@code fields}. Streaks (and all
+     * completion queries) are skipped when neither streak field is requested. Answers 304 without touching
+     * habits or completions when the client's If-None-Match still matches the user's data version; otherwise
+     * the version and the body are read in one transaction (see {@link DataVersionService#readIfModified}).
+     */
     @GetMapping
-    public ResponseEntity<List<HabitResponse>> getHabits(
+    public ResponseEntity<List<Object>> getHabits(
+            @RequestParam(required = false) List<String> fields,
+            @AuthenticationPrincipal(expression = "username") String email,
+            WebRequest webRequest) {
+        HabitFields habitFields = HabitFields.of(fields);
+        return dataVersionService.readIfModified(email, Representation.negotiate(webRequest), webRequest::checkNotModified, eTag -> {
+            User user = userService.getUserByEmail(email);
+            List<Habit> habits = habitService.getHabitsForUser(user);
+            Map<Long, StreakResult> streaks = habitFields.includesStreaks()
+                    ? habitService.calculateStreaksForHabits(habits, user)
+                    : Map.of();
+            List<Object> responses = habits.stream()
+                    .map(habit -> habitFields.select(toResponse(habit, streaks.get(habit.getId()))))
+                    .toList();
+            return ResponseEntity.ok().eTag(eTag).body(responses);
+        });
+    }
+
+    /**
+     * Returns a compact completion bitmap per habit for the given year (or the current year if not provided).
+     * Years outside 1-9999 are rejected with 400.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<HeatmapResponse> getHeatmap(
+            @RequestParam(required = false) Integer year,
             @AuthenticationPrincipal(expression = "username") String email) {
+        int heatmapYear = (year != null) ? year : Year.now().getValue();
+        if (heatmapYear < MIN_HEATMAP_YEAR || heatmapYear > MAX_HEATMAP_YEAR) {
+            throw new InvalidYearException(heatmapYear, MIN_HEATMAP_YEAR, MAX_HEATMAP_YEAR);
+        }
         User user = userService.getUserByEmail(email);
-        List<HabitResponse> habits = habitService.getHabitsForUser(user)
-                .stream()
-                .map(habit -> {
-                    var streakResult = habitService.calculateStreaksForHabit(habit, user);
-                    return HabitResponse.fromEntity(habit, streakResult.currentStreak(), streakResult.longestStreak());
-                })
-                .toList();
-        return ResponseEntity.ok(habits);
+        return ResponseEntity.ok(habitService.getHeatmapForUser(user, heatmapYear));
     }
 
     @PostMapping
@@ -57,15 +98,22 @@ public class HabitController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Returns the habit with streaks, or only the fields listed in {@code fields} (see {@link #getHabits}).
+     */
     @GetMapping("/{habitId}")
-    public ResponseEntity<HabitResponse> getHabit(
+    public ResponseEntity<Object> getHabit(
             @PathVariable Long habitId,
-            @AuthenticationPrincipal(expression = "username") String email) {
-        User user = userService.getUserByEmail(email);
-        Habit habit = habitService.getHabitByIdForUser(habitId, user);
-        var streakResult = habitService.calculateStreaksForHabit(habit, user);
-        return ResponseEntity.ok(HabitResponse.fromEntity(habit, 
-                streakResult.currentStreak(), streakResult.longestStreak()));
+            @RequestParam(required = false) List<String> fields,
+            @AuthenticationPrincipal(expression = "username") String email,
+            WebRequest webRequest) {
+        HabitFields habitFields = HabitFields.of(fields);
+        return dataVersionService.readIfModified(email, Representation.negotiate(webRequest), webRequest::checkNotModified, eTag -> {
+            User user = userService.getUserByEmail(email);
+            Habit habit = habitService.getHabitByIdForUser(habitId, user);
+            StreakResult streakResult = habitFields.includesStreaks() ? habitService.calculateStreaksForHabit(habit, user) : null;
+            return ResponseEntity.ok().eTag(eTag).body(habitFields.select(toResponse(habit, streakResult)));
+        });
     }
 
     @PutMapping("/{habitId}")
@@ -81,4 +129,13 @@ public class HabitController {
         return ResponseEntity.ok(HabitResponse.fromEntity(updated, 
                 streakResult.currentStreak(), streakResult.longestStreak()));
     }
+
+    /**
+     * Streaks are left null when they were not calculated; the fieldset drops them from the response.
+     */
+    private static HabitResponse toResponse(Habit habit, StreakResult streakResult) {
+        return streakResult != null
+                ? HabitResponse.fromEntity(habit, streakResult.currentStreak(), streakResult.longestStreak())
+                : HabitResponse.fromEntity(habit, null, null);
+    }
 }
\ No newline at end of file
@@ -1,20 +0,0 @@
-package com.mahajan.habittracker.controller;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
-
-@RestController
-@Slf4j
-public class HealthController {
-
-    @GetMapping("/health")
-    public ResponseEntity<Map<String, String>> health() {
-        log.info("Health check endpoint accessed");
-        return ResponseEntity.ok(Map.of("status", "UP"));
-    }
-}
-
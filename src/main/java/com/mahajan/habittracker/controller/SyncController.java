@@ -0,0 +1,39 @@
+package com.mahajan.habittracker.controller;
+
+import com.mahajan.habittracker.dto.SyncResponse;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.SyncService;
+import com.mahajan.habittracker.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+    private final UserService userService;
+
+    /**
+     * Returns the habits and completions created, updated or deleted after the given cursor, or a full
+     * snapshot with the current cursor when {@code since} is omitted. {@code day} is the {@code day} of the
+     * previous response; when it is not today (or missing), every habit is returned with today's streaks.
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @AuthenticationPrincipal(expression = "username") String email) {
+        User user = userService.getUserByEmail(email);
+        return ResponseEntity.ok(syncService.sync(user, since, day));
+    }
+}
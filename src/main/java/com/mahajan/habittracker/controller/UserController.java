@@ -1,14 +1,22 @@
 package com.mahajan.habittracker.controller;
 
+import com.mahajan.habittracker.dto.ExportFormat;
 import com.mahajan.habittracker.dto.UserResponse;
 import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.service.ExportService;
 import com.mahajan.habittracker.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
 
 
 @RestController
@@ -16,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ExportService exportService;
 
     /**
      * Get details of the currently authenticated user.
@@ -26,4 +35,75 @@ public class UserController {
         User user = userService.getUserByEmail(email);
         return ResponseEntity.ok(UserResponse.from(user));
     }
+
+    /**
+     * Streams all habits and completions of the authenticated user as NDJSON (default) or CSV.
+     * The body is gzip-encoded when the client's Accept-Encoding accepts gzip (see {@link #acceptsGzip}).
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportCurrentUser(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal(expression = "username") String email) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        User user = userService.getUserByEmail(email);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                exportService.writeExport(user, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.writeExport(user, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"habit-tracker-export." + exportFormat.getFileExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * True if the Accept-Encoding header gives gzip, or failing that {@code *}, a q-value above zero.
+     * {@code gzip;q=0} refuses it, and other codings that merely contain the name (x-gzip) don't count.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            double quality = quality(parts);
+            if (coding.equalsIgnoreCase("gzip")) {
+                return quality > 0;
+            }
+            if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
@@ -0,0 +1,111 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.ConnectionPoolProperties;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feedback controller that resizes each Hikari pool's maximumPoolSize within configured bounds.
+ *
+ * Every interval it looks at the average connection acquire time since the previous interval, the
+ * threads currently waiting and any acquire timeouts. A starved pool grows by the grow step; a pool
+ * that stayed well under the target wait for several intervals in a row shrinks by one, which hands
+ * connections back to the database's shared connection cap.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.pool.adaptive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptivePoolSizer implements SchedulingConfigurer {
+
+    private final ConnectionPoolMonitor monitor;
+    private final ConnectionPoolProperties properties;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::adjustAll, properties.getAdaptive().getInterval());
+    }
+
+    public void adjustAll() {
+        monitor.getPools().forEach(this::adjust);
+    }
+
+    void adjust(String poolName, HikariDataSource dataSource) {
+        PoolMetricsTracker tracker = monitor.getTracker(poolName);
+        if (tracker == null) {
+            return; // pool not started yet
+        }
+        Window window = windows.computeIfAbsent(poolName, name -> new Window());
+
+        long acquireCount = tracker.getAcquireCount().sum();
+        long acquireNanos = tracker.getAcquireNanos().sum();
+        long timeouts = tracker.getTimeouts().sum();
+        long intervalAcquires = acquireCount - window.acquireCount;
+        long avgWaitNanos = intervalAcquires == 0 ? 0 : (acquireNanos - window.acquireNanos) / intervalAcquires;
+        boolean timedOut = timeouts > window.timeouts;
+        int pending = tracker.getPoolStats().getPendingThreads();
+        window.acquireCount = acquireCount;
+        window.acquireNanos = acquireNanos;
+        window.timeouts = timeouts;
+
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int next = nextMaximumPoolSize(current, avgWaitNanos, pending, timedOut, window);
+        if (next != current) {
+            log.info("Resizing {} maximumPoolSize {} -> {} (avg acquire wait {} ms, pending {}, timeouts {})",
+                    poolName, current, next, avgWaitNanos / 1_000_000.0, pending, timedOut);
+            if (next > current) {
+                config.setMaximumPoolSize(next);
+            }
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), next));
+            if (next < current) {
+                config.setMaximumPoolSize(next);
+            }
+        }
+    }
+
+    /**
+     * Decides the next maximumPoolSize, always clamped to the configured bounds.
+     */
+    int nextMaximumPoolSize(int current, long avgWaitNanos, int pending, boolean timedOut, Window window) {
+        ConnectionPoolProperties.Adaptive adaptive = properties.getAdaptive();
+        long targetNanos = adaptive.getTargetWait().toNanos();
+
+        int next = current;
+        if (timedOut || pending > 0 || avgWaitNanos > targetNanos) {
+            window.quietIntervals = 0;
+            next = current + adaptive.getGrowStep();
+        } else if (avgWaitNanos < targetNanos / 4) {
+            window.quietIntervals++;
+            if (window.quietIntervals >= adaptive.getQuietIntervalsBeforeShrink()) {
+                window.quietIntervals = 0;
+                next = current - 1;
+            }
+        } else {
+            window.quietIntervals = 0;
+        }
+        return Math.max(adaptive.getMinSize(), Math.min(adaptive.getMaxSize(), next));
+    }
+
+    /**
+     * Counter values at the end of the previous interval, per pool.
+     */
+    static final class Window {
+        long acquireCount;
+        long acquireNanos;
+        long timeouts;
+        int quietIntervals;
+    }
+}
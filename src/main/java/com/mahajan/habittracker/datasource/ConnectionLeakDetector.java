@@ -0,0 +1,194 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.ConnectionPoolProperties;
+import com.mahajan.habittracker.dto.ConnectionLeakResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports connections held longer than the leak threshold, naming the HTTP request that borrowed them.
+ *
+ * Hikari's own leak detection only logs the borrowing stack trace. Here the application DataSource is
+ * wrapped so every borrow records the current request ({@code METHOD /path}, or the thread name outside
+ * a request); a periodic sweep logs each overdue connection once and keeps the most recent reports.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionLeakDetector implements SchedulingConfigurer {
+
+    static final String NO_REQUEST = "(no request)";
+
+    private final ConnectionPoolProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Connection, Borrow> borrowed = new ConcurrentHashMap<>();
+    private final Deque<ConnectionLeakResponse> recentLeaks = new ArrayDeque<>();
+
+    /**
+     * Wraps a DataSource so that every connection it hands out is tracked until closed.
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return new LeakTrackingDataSource(dataSource);
+    }
+
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::checkForLeaks, properties.getLeakCheckInterval());
+    }
+
+    /**
+     * Reports every connection held past the threshold that has not been reported yet.
+     */
+    public void checkForLeaks() {
+        Instant now = clock.instant();
+        long thresholdMillis = properties.getLeakDetectionThreshold().toMillis();
+        for (Borrow borrow : borrowed.values()) {
+            long heldMillis = now.toEpochMilli() - borrow.getBorrowedAt().toEpochMilli();
+            if (heldMillis >= thresholdMillis && borrow.markReported()) {
+                log.warn("Possible connection leak: held for {} ms by {} on thread {}",
+                        heldMillis, borrow.getRequestPath(), borrow.getThread());
+                addReport(new ConnectionLeakResponse(borrow.getRequestPath(), borrow.getThread(), borrow.getBorrowedAt(), heldMillis));
+            }
+        }
+    }
+
+    /**
+     * Most recent leak reports, newest first.
+     */
+    public List<ConnectionLeakResponse> getRecentLeaks() {
+        synchronized (recentLeaks) {
+            return List.copyOf(recentLeaks);
+        }
+    }
+
+    /**
+     * Number of connections currently borrowed through the wrapped DataSource.
+     */
+    public int getBorrowedCount() {
+        return borrowed.size();
+    }
+
+    private void addReport(ConnectionLeakResponse report) {
+        synchronized (recentLeaks) {
+            recentLeaks.addFirst(report);
+            while (recentLeaks.size() > properties.getLeakReportSize()) {
+                recentLeaks.removeLast();
+            }
+        }
+    }
+
+    private Connection track(Connection connection) {
+        Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TrackedConnection(connection));
+        borrowed.put(proxy, new Borrow(currentRequestPath(), Thread.currentThread().getName(), clock.instant()));
+        return proxy;
+    }
+
+    private void release(Connection proxy) {
+        Borrow borrow = borrowed.remove(proxy);
+        if (borrow != null && borrow.isReported()) {
+            log.info("Connection reported as leaked by {} was returned after {} ms",
+                    borrow.getRequestPath(), clock.millis() - borrow.getBorrowedAt().toEpochMilli());
+        }
+    }
+
+    static String currentRequestPath() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        return NO_REQUEST;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Borrow {
+        private final String requestPath;
+        private final String thread;
+        private final Instant borrowedAt;
+        private volatile boolean reported;
+
+        synchronized boolean markReported() {
+            if (reported) {
+                return false;
+            }
+            reported = true;
+            return true;
+        }
+    }
+
+    private class LeakTrackingDataSource extends DelegatingDataSource {
+
+        LeakTrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        @NonNull
+        public Connection getConnection() throws SQLException {
+            return track(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        @NonNull
+        public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+            return track(obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+
+    private class TrackedConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        TrackedConnection(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    release((Connection) proxy);
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
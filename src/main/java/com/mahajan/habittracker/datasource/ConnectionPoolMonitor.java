@@ -0,0 +1,94 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.dto.ConnectionPoolStatsResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the application's Hikari pools and their metrics trackers.
+ *
+ * Every HikariDataSource bean is registered before its pool starts (see ConnectionPoolConfig), which
+ * installs this class as the pool's MetricsTrackerFactory. Spring Boot then leaves the pool alone, so the
+ * trackers created here also feed Micrometer's hikaricp.* meters.
+ */
+@Component
+public class ConnectionPoolMonitor implements MetricsTrackerFactory {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+    private final Map<String, PoolMetricsTracker> trackers = new ConcurrentHashMap<>();
+    private final MicrometerMetricsTrackerFactory micrometerTrackerFactory;
+
+    public ConnectionPoolMonitor(MeterRegistry meterRegistry) {
+        this.micrometerTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    public void register(HikariDataSource dataSource) {
+        if (dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+            dataSource.setMetricsTrackerFactory(this);
+        }
+        pools.put(dataSource.getPoolName() != null ? dataSource.getPoolName() : "HikariPool", dataSource);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetricsTracker tracker = new PoolMetricsTracker(poolName, poolStats,
+                micrometerTrackerFactory.create(poolName, poolStats));
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * Registered pools by name. A pool's tracker only exists once the pool has started.
+     */
+    public Map<String, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    public PoolMetricsTracker getTracker(String poolName) {
+        return trackers.get(poolName);
+    }
+
+    /**
+     * Current gauges and cumulative acquire/usage figures for every started pool, ordered by pool name.
+     */
+    public List<ConnectionPoolStatsResponse> snapshot() {
+        return trackers.values().stream()
+                .sorted(Comparator.comparing(PoolMetricsTracker::getPoolName))
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private ConnectionPoolStatsResponse toResponse(PoolMetricsTracker tracker) {
+        PoolStats stats = tracker.getPoolStats();
+        long acquireCount = tracker.getAcquireCount().sum();
+        long usageCount = tracker.getUsageCount().sum();
+        return ConnectionPoolStatsResponse.builder()
+                .poolName(tracker.getPoolName())
+                .active(stats.getActiveConnections())
+                .idle(stats.getIdleConnections())
+                .pending(stats.getPendingThreads())
+                .total(stats.getTotalConnections())
+                .minimumIdle(stats.getMinConnections())
+                .maximumPoolSize(stats.getMaxConnections())
+                .acquireCount(acquireCount)
+                .acquireAvgMillis(acquireCount == 0 ? 0 : tracker.getAcquireNanos().sum() / NANOS_PER_MILLI / acquireCount)
+                .acquireMaxMillis(tracker.getAcquireMaxNanos().get() / NANOS_PER_MILLI)
+                .usageCount(usageCount)
+                .usageAvgMillis(usageCount == 0 ? 0 : (double) tracker.getUsageMillis().sum() / usageCount)
+                .usageMaxMillis(tracker.getUsageMaxMillis().get())
+                .timeouts(tracker.getTimeouts().sum())
+                .build();
+    }
+}
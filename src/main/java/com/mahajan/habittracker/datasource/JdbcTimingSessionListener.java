@@ -0,0 +1,32 @@
+package com.mahajan.habittracker.datasource;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Reports the time spent executing JDBC statements and batches to the SqlStatementRecorder.
+ * Hibernate creates one instance per session (hibernate.session.events.auto).
+ */
+public class JdbcTimingSessionListener extends BaseSessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementRecorder.jdbcTimeElapsed(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementRecorder.jdbcTimeElapsed(System.nanoTime() - executeStart);
+    }
+}
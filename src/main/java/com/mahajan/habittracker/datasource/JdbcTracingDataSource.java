@@ -0,0 +1,156 @@
+package com.mahajan.habittracker.datasource;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Wraps the application DataSource so every JDBC statement execution is a client span carrying its SQL.
+ *
+ * Statements are proxied when they are created; each execute call (including executeQuery, executeUpdate
+ * and executeBatch) runs inside a span named after the SQL operation (SELECT, INSERT, ...) with the SQL in
+ * db.statement. Hibernate only sends parameterized SQL, so bound values never end up in a span.
+ */
+public class JdbcTracingDataSource extends DelegatingDataSource {
+
+    static final String STATEMENT_TAG = "db.statement";
+    static final String OPERATION_TAG = "db.operation";
+
+    private final Tracer tracer;
+
+    public JdbcTracingDataSource(DataSource target, Tracer tracer) {
+        super(target);
+        this.tracer = tracer;
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return trace(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return trace(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection trace(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TracedConnection(connection));
+    }
+
+    /**
+     * First keyword of the SQL (SELECT, INSERT, ...), used as the span name.
+     */
+    static String operationOf(String sql) {
+        if (sql == null) {
+            return "jdbc";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "jdbc" : trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class TracedConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        TracedConnection(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = JdbcTracingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null, proxy);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0], proxy);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0], proxy);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Statement statement, String sql, Object connection) {
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                    new TracedStatement(statement, sql, (Connection) connection));
+        }
+    }
+
+    private class TracedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+
+        TracedStatement(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                default:
+                    break;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return JdbcTracingDataSource.invoke(target, method, args);
+            }
+
+            String sql = (args != null && args.length > 0 && args[0] instanceof String text) ? text : preparedSql;
+            Span.Builder builder = tracer.spanBuilder().name(operationOf(sql)).kind(Span.Kind.CLIENT);
+            if (sql != null) {
+                builder.tag(STATEMENT_TAG, sql).tag(OPERATION_TAG, operationOf(sql));
+            }
+            Span span = builder.start();
+            try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+                return JdbcTracingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
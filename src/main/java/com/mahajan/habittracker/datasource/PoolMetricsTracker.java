@@ -0,0 +1,69 @@
+package com.mahajan.habittracker.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative acquire/usage/timeout counters for one Hikari pool, plus its live PoolStats.
+ * Hikari calls the record methods on the borrowing and returning threads, so everything is lock-free.
+ * Every call is also forwarded to the Micrometer tracker, which publishes the hikaricp.* meters.
+ */
+@Getter
+public class PoolMetricsTracker implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final IMetricsTracker delegate;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator acquireMaxNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAccumulator usageMaxMillis = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder timeouts = new LongAdder();
+
+    public PoolMetricsTracker(String poolName, PoolStats poolStats, IMetricsTracker delegate) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireCount.increment();
+        acquireNanos.add(elapsedAcquiredNanos);
+        acquireMaxNanos.accumulate(elapsedAcquiredNanos);
+        delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usageCount.increment();
+        usageMillis.add(elapsedBorrowedMillis);
+        usageMaxMillis.accumulate(elapsedBorrowedMillis);
+        delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+        delegate.recordConnectionTimeout();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
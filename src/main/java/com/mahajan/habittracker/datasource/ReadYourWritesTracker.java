@@ -0,0 +1,59 @@
+package com.mahajan.habittracker.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which users committed a write within the last window, so their reads can stay on the
+ * primary until the replica has had time to catch up. Entries expire with the window, whether or
+ * not the user reads again.
+ *
+ * Users are identified by the authenticated principal name. Writes made without an authenticated
+ * user (signup) are not tracked; unauthenticated reads, such as the login and JWT filter user
+ * lookups, always go to the primary instead (see {@link ReplicaRoutingDataSource}).
+ *
+ * The writes are remembered in this process only, so the guarantee holds for a single instance.
+ * With several instances a user's next read can land on one that has not seen their write; run
+ * replica routing on one instance, or route each user to the same instance.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    public void recordWrite(String userKey) {
+        recentWriters.put(userKey, Boolean.TRUE);
+    }
+
+    /**
+     * True while the user is inside the read-your-writes window of their last write.
+     */
+    public boolean isWithinWindow(String userKey) {
+        return recentWriters.getIfPresent(userKey) != null;
+    }
+
+    /**
+     * Key of the user on the current thread: the authenticated principal name, or null if there is none.
+     */
+    public static String currentUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mahajan.habittracker.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to the read replica and everything else to the primary.
+ *
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens the connection before the read-only flag is bound to the thread,
+ * so the physical connection has to be fetched lazily, on the first statement.
+ *
+ * A read-write transaction records a write for the current user after it commits; that user's
+ * read-only transactions then stay on the primary for the read-your-writes window.
+ *
+ * Read-only work without an authenticated user also goes to the primary: it is mostly the login and
+ * JWT filter user lookups, which have to see an account the moment signup commits.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String userKey = ReadYourWritesTracker.currentUserKey();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userKey != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite(userKey);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        return userKey == null || tracker.isWithinWindow(userKey) ? Route.PRIMARY : Route.REPLICA;
+    }
+}
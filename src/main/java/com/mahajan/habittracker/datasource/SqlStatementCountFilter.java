@@ -0,0 +1,111 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.SqlStatementProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements and JDBC time of each HTTP request.
+ *
+ * Requests over their endpoint's statement budget, or that prepare the same statement
+ * repeatThreshold times or more (an N+1), are logged as warnings. When headers are enabled the
+ * counts are also returned as X-SQL-Statement-Count and X-SQL-Time-Ms; they are written as the
+ * response commits, so anything running after that is not included.
+ */
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String JDBC_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlStatementProperties properties;
+    private final Map<String, Integer> budgets;
+
+    public SqlStatementCountFilter(SqlStatementProperties properties) {
+        this.properties = properties;
+        this.budgets = properties.getBudgets().stream()
+                .collect(Collectors.toMap(SqlStatementProperties.Budget::getEndpoint,
+                        SqlStatementProperties.Budget::getMaxStatements));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            StatementHeaderResponse headerResponse = properties.isHeaders()
+                    ? new StatementHeaderResponse(response, recording)
+                    : null;
+            try {
+                filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+            } finally {
+                if (headerResponse != null) {
+                    headerResponse.writeHeaders();
+                }
+                checkBudget(request, recording);
+            }
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatementRecorder.Recording recording) {
+        if (recording.getStatementCount() == 0) {
+            return;
+        }
+        String endpoint = endpointOf(request);
+
+        Integer budget = budgets.get(endpoint);
+        if (budget != null && recording.getStatementCount() > budget) {
+            log.warn("{} ran {} SQL statements, over its budget of {} ({} ms JDBC)",
+                    endpoint, recording.getStatementCount(), budget, recording.getJdbcTime().toMillis());
+        }
+
+        recording.getMostRepeated()
+                .filter(entry -> entry.getValue() >= properties.getRepeatThreshold())
+                .ifPresent(entry -> log.warn("Possible N+1 on {}: statement ran {} times: {}",
+                        endpoint, entry.getValue(), entry.getKey()));
+    }
+
+    /**
+     * "METHOD pattern" using the matched handler mapping, so budgets apply to every id of a path.
+     */
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static final class StatementHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementRecorder.Recording recording;
+
+        private StatementHeaderResponse(HttpServletResponse response, SqlStatementRecorder.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            if (isDisableOnResponseCommitted()) {
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(recording.getStatementCount()));
+            response.setHeader(JDBC_TIME_HEADER, String.valueOf(recording.getJdbcTime().toMillis()));
+            disableOnResponseCommitted();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mahajan.habittracker.datasource;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Thread-bound recordings of the SQL statements Hibernate prepares and the JDBC time they take.
+ *
+ * A recording covers whatever runs on the current thread between {@link #start()} and
+ * {@link Recording#close()}; the SqlStatementCountFilter opens one per HTTP request. Recordings nest,
+ * so a test can record across several requests while each request still gets its own count.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Deque<Recording>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementRecorder() {
+    }
+
+    public static Recording start() {
+        Recording recording = new Recording();
+        ACTIVE.get().push(recording);
+        return recording;
+    }
+
+    static void statementPrepared(String sql) {
+        for (Recording recording : ACTIVE.get()) {
+            recording.statementPrepared(sql);
+        }
+    }
+
+    static void jdbcTimeElapsed(long nanos) {
+        for (Recording recording : ACTIVE.get()) {
+            recording.jdbcNanos += nanos;
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+        private final List<String> statements = new ArrayList<>();
+        private long jdbcNanos;
+
+        private Recording() {
+        }
+
+        private void statementPrepared(String sql) {
+            statements.add(sql);
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        public int getStatementCount() {
+            return statements.size();
+        }
+
+        public Duration getJdbcTime() {
+            return Duration.ofNanos(jdbcNanos);
+        }
+
+        /**
+         * Statements in the order they were prepared.
+         */
+        public List<String> getStatements() {
+            return List.copyOf(statements);
+        }
+
+        /**
+         * The statement prepared most often, with its count - the usual signature of an N+1.
+         */
+        public Optional<Map.Entry<String, Integer>> getMostRepeated() {
+            return countsBySql.entrySet().stream().max(Map.Entry.comparingByValue());
+        }
+
+        public void reset() {
+            countsBySql.clear();
+            statements.clear();
+            jdbcNanos = 0;
+        }
+
+        @Override
+        public void close() {
+            ACTIVE.get().remove(this);
+        }
+    }
+}
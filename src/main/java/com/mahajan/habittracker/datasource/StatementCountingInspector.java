@@ -0,0 +1,15 @@
+package com.mahajan.habittracker.datasource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Reports every statement Hibernate prepares to the SqlStatementRecorder. The SQL is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.statementPrepared(sql);
+        return sql;
+    }
+}
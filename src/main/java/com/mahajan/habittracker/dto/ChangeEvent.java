@@ -0,0 +1,19 @@
+package com.mahajan.habittracker.dto;
+
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.model.ChangeLogEntry.EntityType;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
+
+import java.time.LocalDate;
+
+/**
+ * A committed change as pushed on /api/events. {@code id} is the change log id, i.e. a sync cursor;
+ * {@code completionDate} is only set for completions.
+ */
+public record ChangeEvent(Long id, EntityType entityType, Operation operation, Long habitId, LocalDate completionDate) {
+
+    public static ChangeEvent fromEntry(ChangeLogEntry entry) {
+        return new ChangeEvent(entry.getId(), entry.getEntityType(), entry.getOperation(),
+                entry.getHabitId(), entry.getCompletionDate());
+    }
+}
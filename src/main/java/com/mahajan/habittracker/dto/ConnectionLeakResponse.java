@@ -0,0 +1,20 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A connection held past the leak threshold, with the request (or thread) that borrowed it.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class ConnectionLeakResponse {
+    private String requestPath;
+    private String thread;
+    private Instant borrowedAt;
+    private long heldMillis;
+}
@@ -0,0 +1,15 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolReport {
+    private List<ConnectionPoolStatsResponse> pools;
+    private List<ConnectionLeakResponse> recentLeaks;
+}
@@ -0,0 +1,29 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Live gauges and cumulative acquire/usage figures for one connection pool.
+ * Acquire time is how long a thread waited for a connection; usage time is how long it held one.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStatsResponse {
+    private String poolName;
+    private int active;
+    private int idle;
+    private int pending;
+    private int total;
+    private int minimumIdle;
+    private int maximumPoolSize;
+    private long acquireCount;
+    private double acquireAvgMillis;
+    private double acquireMaxMillis;
+    private long usageCount;
+    private double usageAvgMillis;
+    private long usageMaxMillis;
+    private long timeouts;
+}
@@ -0,0 +1,29 @@
+package com.mahajan.habittracker.dto;
+
+import com.mahajan.habittracker.model.Habit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class DashboardHabitResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean completedToday;
+    private Integer currentStreak;
+    private Integer longestStreak;
+
+    public static DashboardHabitResponse fromEntity(Habit habit, boolean completedToday, StreakResult streakResult) {
+        return DashboardHabitResponse.builder()
+                .id(habit.getId())
+                .name(habit.getName())
+                .description(habit.getDescription())
+                .completedToday(completedToday)
+                .currentStreak(streakResult.currentStreak())
+                .longestStreak(streakResult.longestStreak())
+                .build();
+    }
+}
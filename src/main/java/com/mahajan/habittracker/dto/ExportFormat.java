@@ -0,0 +1,27 @@
+package com.mahajan.habittracker.dto;
+
+import com.mahajan.habittracker.exceptions.InvalidExportFormatException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats supported by the history export endpoint.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException(value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.mahajan.habittracker.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight (habitId, date) pair read directly from the completions table,
+ * without loading HabitCompletion or Habit entities.
+ */
+public record HabitCompletionDay(Long habitId, LocalDate completionDate) {
+}
@@ -0,0 +1,10 @@
+package com.mahajan.habittracker.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Flat row used when streaming a user's history out of the database.
+ * One row per completion; habits without completions produce a single row with a null completionDate.
+ */
+public record HabitExportRow(Long habitId, String habitName, String habitDescription, LocalDate completionDate) {
+}
@@ -0,0 +1,73 @@
+package com.mahajan.habittracker.dto;
+
+import com.mahajan.habittracker.exceptions.InvalidFieldsException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset for habit responses, from the {@code fields} query parameter (e.g. {@code fields=id,name}).
+ *
+ * Streaks are the expensive part of a habit response: they need every completion of the habit. Callers check
+ * {@link #includesStreaks()} and skip the calculation, and with it the completion queries, when neither
+ * streak field was asked for.
+ */
+public record HabitFields(Set<String> names) {
+
+    public static final List<String> SUPPORTED = List.of("id", "name", "description", "currentStreak", "longestStreak");
+
+    public static final HabitFields ALL = new HabitFields(Set.copyOf(SUPPORTED));
+
+    /**
+     * Parses the requested field names; none (parameter absent or empty) means all fields.
+     *
+     * @throws InvalidFieldsException for a name that is not a habit response field
+     */
+    public static HabitFields of(List<String> fields) {
+        if (fields == null) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!SUPPORTED.contains(name)) {
+                throw new InvalidFieldsException(name, SUPPORTED);
+            }
+            names.add(name);
+        }
+        return names.isEmpty() || names.size() == SUPPORTED.size() ? ALL : new HabitFields(Set.copyOf(names));
+    }
+
+    public boolean includesStreaks() {
+        return names.contains("currentStreak") || names.contains("longestStreak");
+    }
+
+    /**
+     * The response itself when all fields are requested, otherwise only the requested fields in the
+     * response's own order.
+     */
+    public Object select(HabitResponse response) {
+        if (this.equals(ALL)) {
+            return response;
+        }
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String name : SUPPORTED) {
+            if (names.contains(name)) {
+                selected.put(name, switch (name) {
+                    case "id" -> response.getId();
+                    case "name" -> response.getName();
+                    case "description" -> response.getDescription();
+                    case "currentStreak" -> response.getCurrentStreak();
+                    default -> response.getLongestStreak();
+                });
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Completion days of a single habit for one calendar year.
+ * {@code days} is a base64-encoded 366-bit bitmap: bit {@code dayOfYear - 1} is set when the
+ * habit was completed on that day. Bits are little-endian within each byte (bit 0 of byte 0 = January 1st).
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class HabitHeatmapResponse {
+    private Long habitId;
+    private String days;
+}
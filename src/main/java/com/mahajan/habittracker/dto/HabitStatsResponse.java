@@ -0,0 +1,28 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Rolling completion statistics for one habit, as of {@code asOf} (inclusive).
+ * Rates are completed days divided by days in the window, between 0.0 and 1.0.
+ * {@code completionsByWeekday} counts completions in the last 365 days per day of week.
+ * Immutable, because HabitStatsService hands the same cached instance to every caller.
+ */
+@Value
+@AllArgsConstructor
+@Builder
+public class HabitStatsResponse {
+    private Long habitId;
+    private LocalDate asOf;
+    private Double last7Days;
+    private Double last30Days;
+    private Double last90Days;
+    private Double last365Days;
+    private Map<DayOfWeek, Integer> completionsByWeekday;
+}
@@ -0,0 +1,18 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Year view for all of a user's habits, one bitmap per habit.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class HeatmapResponse {
+    private Integer year;
+    private List<HabitHeatmapResponse> habits;
+}
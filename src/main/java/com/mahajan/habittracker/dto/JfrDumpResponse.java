@@ -0,0 +1,21 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A JFR dump written to the server's dump directory; open it with JDK Mission Control or {@code jfr print}.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class JfrDumpResponse {
+    private String file;
+    private String reason;
+    private long windowSeconds;
+    private long sizeBytes;
+    private Instant createdAt;
+}
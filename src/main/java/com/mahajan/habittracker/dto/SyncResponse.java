@@ -0,0 +1,32 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Changes to the user's habits and completions since a sync cursor, or a full snapshot when no cursor was sent
+ * ({@code full} is true and the client replaces its local copy). The client applies the lists and sends
+ * {@code cursor} back as {@code since} next time, immediately while {@code hasMore} is true.
+ *
+ * {@code habits} holds the current state of every habit that changed, including habits whose streaks changed
+ * because of a completion. A deleted habit's completions are deleted with it and are not listed separately.
+ * {@code day} is the server date the streaks were calculated on; the client sends it back with the cursor,
+ * and on a later day {@code habits} lists every habit so that current streaks do not go stale overnight.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+    private Long cursor;
+    private LocalDate day;
+    private boolean full;
+    private boolean hasMore;
+    private List<HabitResponse> habits;
+    private List<Long> deletedHabitIds;
+    private List<HabitCompletionDay> completions;
+    private List<HabitCompletionDay> deletedCompletions;
+}
@@ -0,0 +1,19 @@
+package com.mahajan.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything the home screen needs in a single response.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class TodayDashboardResponse {
+    private LocalDate date;
+    private List<DashboardHabitResponse> habits;
+}
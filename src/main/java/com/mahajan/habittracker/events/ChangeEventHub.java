@@ -0,0 +1,341 @@
+package com.mahajan.habittracker.events;
+
+import com.mahajan.habittracker.config.EventStreamProperties;
+import com.mahajan.habittracker.dto.ChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * In-process publish/subscribe hub behind /api/events: committed habit and completion changes are pushed to
+ * every open stream of the user who made them.
+ *
+ * Each connection has a bounded queue drained by a shared sender, so a slow client never blocks the writer
+ * that published the change. Sends are blocking writes, held up by a stalled client until Tomcat's write
+ * timeout (the connection timeout) fails them. In virtual-thread mode every drain gets its own virtual
+ * thread, so a stalled client holds up only its own stream. Otherwise the sender is a platform pool that
+ * grows from senderThreads to maxSenderThreads; a stream whose drain finds every thread busy is closed
+ * ({@code stalled}) rather than queued behind the blocked ones. A client whose queue fills up is
+ * disconnected too. Either way it reconnects and catches up through /api/sync, since every event id is a
+ * sync cursor.
+ * Streams that stayed silent for a heartbeat interval get a comment line, which keeps proxies from timing
+ * them out and turns dead connections into write errors. Streams are also closed after maxConnectionAge,
+ * and on shutdown before Tomcat's graceful shutdown starts waiting for open requests.
+ */
+@Component
+@Slf4j
+public class ChangeEventHub implements SmartLifecycle, SchedulingConfigurer {
+
+    public static final String READY_EVENT = "ready";
+    public static final String CHANGE_EVENT = "change";
+    static final String CONNECTIONS_GAUGE = "events.connections";
+    static final String CLOSED_COUNTER = "events.connections.closed";
+    static final String OVERFLOW = "overflow";
+    static final String REPLACED = "replaced";
+    static final String EXPIRED = "expired";
+    static final String SHUTDOWN = "shutdown";
+    static final String DISCONNECTED = "disconnected";
+    static final String STALLED = "stalled";
+
+    private final EventStreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Executor sender;
+
+    // Replaced as a whole on every change, so publishing iterates a snapshot without locking
+    private final Map<Long, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    @Autowired
+    public ChangeEventHub(EventStreamProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        this(properties, meterRegistry, Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("sse-sender-")
+                : senderPool(properties.getSenderThreads(), properties.getMaxSenderThreads()));
+    }
+
+    ChangeEventHub(EventStreamProperties properties, MeterRegistry meterRegistry, Executor sender) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sender = sender;
+        Gauge.builder(CONNECTIONS_GAUGE, this, ChangeEventHub::getConnectionCount)
+                .description("Open /api/events streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps {@code coreThreads} threads and starts more, up to {@code maxThreads}, while they are all busy; the
+     * extra threads exit after a minute without work. Never queues a drain behind a blocked one: with every
+     * thread busy the task is rejected.
+     */
+    static ExecutorService senderPool(int coreThreads, int maxThreads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-sender-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(coreThreads, Math.max(coreThreads, maxThreads), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscriptions.values().forEach(open -> open.forEach(subscription -> close(subscription, SHUTDOWN)));
+        if (sender instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::sendHeartbeats, properties.getHeartbeatInterval());
+    }
+
+    /**
+     * Opens a stream for the user. Its first event is {@code ready}, carrying the SSE retry delay and the
+     * {@code ready} payload. The payload is read after the stream is registered, so a change committed
+     * meanwhile is covered by the payload's cursor, the stream, or both, but never missed.
+     */
+    public SseEmitter subscribe(Long userId, Supplier<?> ready) {
+        SseEmitter emitter = new SseEmitter(properties.getMaxConnectionAge().toMillis());
+        if (!running) {
+            emitter.complete();
+            return emitter;
+        }
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onTimeout(() -> expire(subscription));
+        emitter.onError(error -> close(subscription, DISCONNECTED));
+        emitter.onCompletion(() -> remove(subscription));
+        add(subscription);
+        try {
+            subscription.ready(SseEmitter.event()
+                    .name(READY_EVENT)
+                    .reconnectTime(properties.getReconnectDelay().toMillis())
+                    .data(ready.get(), MediaType.APPLICATION_JSON));
+        } catch (RuntimeException e) {
+            close(subscription, DISCONNECTED);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Publishes the change once the current transaction commits (immediately outside a transaction), so a
+     * rolled-back write never reaches a client.
+     */
+    public void publishAfterCommit(Long userId, ChangeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, event);
+                }
+            });
+        } else {
+            publish(userId, event);
+        }
+    }
+
+    /**
+     * Queues the change on each of the user's streams. Never blocks: a full queue closes its stream instead.
+     */
+    public void publish(Long userId, ChangeEvent event) {
+        for (Subscription subscription : subscriptions.getOrDefault(userId, List.of())) {
+            // SseEventBuilder is consumed by the send, so every stream gets its own
+            subscription.send(SseEmitter.event()
+                    .id(String.valueOf(event.id()))
+                    .name(CHANGE_EVENT)
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Queues a comment line on every stream that had nothing queued since the previous run.
+     */
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(open -> open.forEach(Subscription::heartbeat));
+    }
+
+    public int getConnectionCount() {
+        return subscriptions.values().stream().mapToInt(List::size).sum();
+    }
+
+    int queuedEvents(Long userId) {
+        return subscriptions.getOrDefault(userId, List.of()).stream().mapToInt(subscription -> subscription.queue.size()).sum();
+    }
+
+    private void add(Subscription subscription) {
+        List<Subscription> replaced = new ArrayList<>();
+        subscriptions.compute(subscription.userId, (userId, current) -> {
+            List<Subscription> open = current != null ? new ArrayList<>(current) : new ArrayList<>();
+            open.add(subscription);
+            while (open.size() > properties.getMaxConnectionsPerUser()) {
+                replaced.add(open.remove(0));
+            }
+            return List.copyOf(open);
+        });
+        replaced.forEach(oldest -> close(oldest, REPLACED));
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.markClosed();
+        subscriptions.computeIfPresent(subscription.userId, (userId, current) -> {
+            List<Subscription> open = current.stream().filter(other -> other != subscription).toList();
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    private void close(Subscription subscription, String reason) {
+        if (!subscription.markClosed()) {
+            return;
+        }
+        remove(subscription);
+        meterRegistry.counter(CLOSED_COUNTER, "reason", reason).increment();
+        if (!DISCONNECTED.equals(reason)) {
+            log.debug("Closing event stream of user {} ({})", subscription.userId, reason);
+            // complete() waits for a send in progress, which can block on a slow client: keep it off the caller
+            try {
+                sender.execute(subscription.emitter::complete);
+            } catch (RejectedExecutionException e) {
+                subscription.emitter.complete();
+            }
+        }
+    }
+
+    private void expire(Subscription subscription) {
+        if (subscription.markClosed()) {
+            remove(subscription);
+            meterRegistry.counter(CLOSED_COUNTER, "reason", EXPIRED).increment();
+        }
+        // Must complete inside the timeout callback, or Spring MVC answers the request with a timeout error
+        subscription.emitter.complete();
+    }
+
+    private final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingDeque<SseEventBuilder> queue = new LinkedBlockingDeque<>(properties.getBufferSize());
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean active = new AtomicBoolean();
+        // Starts out held, so nothing is sent before the ready event is queued in front
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+
+        Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void ready(SseEventBuilder event) {
+            active.set(true);
+            if (!queue.offerFirst(event)) {
+                close(this, OVERFLOW);
+                return;
+            }
+            draining.set(false);
+            scheduleDrain();
+        }
+
+        void send(SseEventBuilder event) {
+            active.set(true);
+            enqueue(event);
+        }
+
+        void heartbeat() {
+            if (!active.getAndSet(false)) {
+                enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        boolean markClosed() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                return true;
+            }
+            return false;
+        }
+
+        private void enqueue(SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                close(this, OVERFLOW);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Every sender thread is blocked on a slow client (when shutting down, stop() closes it instead)
+                    draining.set(false);
+                    if (running) {
+                        close(this, STALLED);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sends until the queue is empty. At most one drain runs per stream, which keeps its events in order.
+         */
+        private void drain() {
+            do {
+                SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client gone or stream already completed; the container also reports it to onError
+                        close(this, DISCONNECTED);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared found the drain still running
+            } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.mahajan.habittracker.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -10,76 +13,114 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.net.BindException;
 import java.time.Instant;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
+
+    static final String EXCEPTIONS_COUNTER = "app.exceptions";
+
+    // Optional so @WebMvcTest slices, which have no registry, can still load the advice
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @ExceptionHandler(HabitNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleHabitNotFoundException(HabitNotFoundException e, HttpServletRequest request) {
-        log.error("Habit not found: {}", e.getMessage(), e); // logs stack
+        countException(e, HttpStatus.NOT_FOUND);
+        log.debug("Habit not found: {}", e.getMessage());
         return buildResponse(HttpStatus.NOT_FOUND, e.getMessage(), request);
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException e, HttpServletRequest request) {
-        log.error("User not found: {}", e.getMessage(), e); // logs stack
+        countException(e, HttpStatus.NOT_FOUND);
+        log.debug("User not found: {}", e.getMessage());
         return buildResponse(HttpStatus.NOT_FOUND, e.getMessage(), request);
     }
 
     // ------------------ 400 Bad Request ------------------
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException e, HttpServletRequest request) {
-        log.error("Validation failed", e);
+        countException(e, HttpStatus.BAD_REQUEST);
         String message = e.getBindingResult().getFieldErrors().stream()
                 .map(error -> error.getDefaultMessage())
                 .findFirst()
                 .orElse("Validation failed");
+        log.debug("Validation failed on {}: {}", request.getRequestURI(), message);
         return buildResponse(HttpStatus.BAD_REQUEST, message, request);
     }
 
     @ExceptionHandler({
             HttpMessageNotReadableException.class,  // missing/invalid body
             BindException.class,                    // form binding errors
-            MissingServletRequestParameterException.class
+            MissingServletRequestParameterException.class,
+            MethodArgumentTypeMismatchException.class,  // e.g. ?year=99999999999 (not an int)
+            InvalidExportFormatException.class,
+            InvalidFieldsException.class,
+            InvalidYearException.class
     })
     
     public ResponseEntity<ErrorResponse> handleBadRequest(Exception e, HttpServletRequest request) {
-        log.error("Bad Request", e);
+        countException(e, HttpStatus.BAD_REQUEST);
+        log.debug("Bad request on {}: {}", request.getRequestURI(), e.getMessage());
         return buildResponse(HttpStatus.BAD_REQUEST, e.getMessage(), request);
     }
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(EmailAlreadyExistsException ex, HttpServletRequest request) {
+        countException(ex, HttpStatus.CONFLICT);
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
     }
 
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentials(BadCredentialsException ex, HttpServletRequest request) {
+        countException(ex, HttpStatus.UNAUTHORIZED);
         return buildResponse(HttpStatus.UNAUTHORIZED, ex.getMessage(), request);
     }
 
     @ExceptionHandler(HabitAlreadyCompletedException.class)
     public ResponseEntity<ErrorResponse> handleHabitAlreadyCompleted(HabitAlreadyCompletedException e, HttpServletRequest request) {
-        log.warn("Habit already completed: {}", e.getMessage());
+        countException(e, HttpStatus.CONFLICT);
+        log.debug("Habit already completed: {}", e.getMessage());
         return buildResponse(HttpStatus.CONFLICT, e.getMessage(), request);
     }
 
     @ExceptionHandler(HabitCompletionNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleHabitCompletionNotFound(HabitCompletionNotFoundException e, HttpServletRequest request) {
-        log.warn("Habit completion not found: {}", e.getMessage());
+        countException(e, HttpStatus.NOT_FOUND);
+        log.debug("Habit completion not found: {}", e.getMessage());
         return buildResponse(HttpStatus.NOT_FOUND, e.getMessage(), request);
     }
 
+    @ExceptionHandler(ProfilingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleProfilingUnavailable(ProfilingUnavailableException e, HttpServletRequest request) {
+        countException(e, HttpStatus.SERVICE_UNAVAILABLE);
+        log.debug("Profiling unavailable: {}", e.getMessage());
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), request);
+    }
 
+    // Client errors above are routine: they are counted (app.exceptions) and logged at DEBUG without a stack
+    // trace. Only this fallback, for failures nobody anticipated, logs at ERROR with the full stack.
     @ExceptionHandler(Exception.class) // fallback for anything else
     public ResponseEntity<ErrorResponse> handleGeneric(Exception e, HttpServletRequest request) {
+        countException(e, HttpStatus.INTERNAL_SERVER_ERROR);
         log.error("Unexpected error occurred", e);
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage(), request);
     }
 
+    /**
+     * Counts handled exceptions by type and resulting status.
+     */
+    private void countException(Exception e, HttpStatus status) {
+        meterRegistry.ifAvailable(registry -> registry.counter(EXCEPTIONS_COUNTER,
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment());
+    }
+
     public ResponseEntity<ErrorResponse> buildResponse(HttpStatus status, String message, HttpServletRequest request) {
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .status(status.value())
@@ -0,0 +1,9 @@
+package com.mahajan.habittracker.exceptions;
+
+import java.util.List;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String field, List<String> supported) {
+        super("Unknown field: " + field + " (supported: " + String.join(", ", supported) + ")");
+    }
+}
@@ -0,0 +1,7 @@
+package com.mahajan.habittracker.exceptions;
+
+public class InvalidYearException extends RuntimeException {
+    public InvalidYearException(int year, int min, int max) {
+        super("Year " + year + " is out of range (" + min + "-" + max + ")");
+    }
+}
@@ -0,0 +1,7 @@
+package com.mahajan.habittracker.exceptions;
+
+public class ProfilingUnavailableException extends RuntimeException {
+    public ProfilingUnavailableException() {
+        super("Continuous JFR recording is not running (app.profiling.enabled=false or JFR unavailable)");
+    }
+}
@@ -0,0 +1,46 @@
+package com.mahajan.habittracker.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports the logging pipeline's own health: events dropped by the per-category rate limits and the
+ * remaining capacity of the async appender's queue (at 0, INFO and lower events are being discarded).
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    static final String SUPPRESSED_COUNTER = "logging.events.suppressed";
+    static final String QUEUE_REMAINING_GAUGE = "logging.async.queue.remaining";
+    static final String ASYNC_APPENDER = "ASYNC";
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof RateLimitingTurboFilter rateLimits) {
+                for (String category : rateLimits.getCategories()) {
+                    FunctionCounter.builder(SUPPRESSED_COUNTER, rateLimits, f -> f.getSuppressedCount(category))
+                            .tag("category", category)
+                            .description("Log events dropped by the per-category rate limit")
+                            .register(registry);
+                }
+            }
+        }
+        if (context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER) instanceof AsyncAppender async) {
+            Gauge.builder(QUEUE_REMAINING_GAUGE, async, AsyncAppender::getRemainingCapacity)
+                    .description("Free slots in the async log appender's queue")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mahajan.habittracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how many log events per second each configured category (a logger name prefix) may write.
+ *
+ * Configured in logback-spring.xml with one {@code <limit>category=eventsPerSecond</limit>} per category;
+ * the longest matching prefix wins and loggers without a limit are not affected. ERROR events always pass,
+ * so unexpected failures are never sampled away. Events over the limit are dropped before a LoggingEvent is
+ * built, and counted per category ({@link #getSuppressedCount}, exported as logging.events.suppressed).
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final List<CategoryLimit> limits = new ArrayList<>();
+    private final Map<String, CategoryLimit> byLogger = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public RateLimitingTurboFilter() {
+        this(System::nanoTime);
+    }
+
+    RateLimitingTurboFilter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Adds a limit in the form {@code category=eventsPerSecond}; called by Joran for each {@code <limit>} element.
+     */
+    public void addLimit(String limit) {
+        int separator = limit.lastIndexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Expected category=eventsPerSecond but got '" + limit + "'");
+        }
+        String category = limit.substring(0, separator).trim();
+        long perSecond = Long.parseLong(limit.substring(separator + 1).trim());
+        limits.add(new CategoryLimit(category, perSecond));
+        limits.sort(Comparator.comparingInt((CategoryLimit l) -> l.category.length()).reversed());
+        byLogger.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks (no format) and disabled levels must not use up the budget
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.ERROR)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        CategoryLimit limit = byLogger.computeIfAbsent(logger.getName(), this::findLimit);
+        if (limit == CategoryLimit.NONE) {
+            return FilterReply.NEUTRAL;
+        }
+        return limit.tryAcquire(nanoClock.getAsLong()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * Configured categories, longest first.
+     */
+    public List<String> getCategories() {
+        return limits.stream().map(limit -> limit.category).toList();
+    }
+
+    /**
+     * Events dropped so far for a configured category (0 for unknown categories).
+     */
+    public long getSuppressedCount(String category) {
+        return limits.stream()
+                .filter(limit -> limit.category.equals(category))
+                .mapToLong(limit -> limit.suppressed.get())
+                .sum();
+    }
+
+    private CategoryLimit findLimit(String loggerName) {
+        for (CategoryLimit limit : limits) {
+            if (loggerName.equals(limit.category) || loggerName.startsWith(limit.category + ".")) {
+                return limit;
+            }
+        }
+        return CategoryLimit.NONE;
+    }
+
+    /**
+     * Fixed one-second window: at most perSecond events pass per window, the rest are counted as suppressed.
+     */
+    private static final class CategoryLimit {
+
+        static final CategoryLimit NONE = new CategoryLimit("", Long.MAX_VALUE);
+
+        private final String category;
+        private final long perSecond;
+        private final AtomicLong windowStart = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong used = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        CategoryLimit(String category, long perSecond) {
+            this.category = category;
+            this.perSecond = perSecond;
+        }
+
+        boolean tryAcquire(long now) {
+            long start = windowStart.get();
+            if (start == Long.MIN_VALUE || now - start >= WINDOW_NANOS) {
+                if (windowStart.compareAndSet(start, now)) {
+                    used.set(0);
+                }
+            }
+            if (used.incrementAndGet() <= perSecond) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mahajan.habittracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One row of the append-only change log: a habit or a completion of a user was created/updated or deleted.
+ * The id doubles as the sync cursor. Entries hold plain ids rather than associations, because they outlive
+ * the rows they describe.
+ */
+@Entity
+@Table(name = "change_log")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    public enum EntityType { HABIT, COMPLETION }
+
+    public enum Operation { UPSERT, DELETE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Column(name = "habit_id", nullable = false)
+    private Long habitId;
+
+    /**
+     * Only set for COMPLETION entries; with the habit id it identifies the completion.
+     */
+    @Column(name = "completion_date")
+    private LocalDate completionDate;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,192 @@
+package com.mahajan.habittracker.profiling;
+
+import com.mahajan.habittracker.config.ProfilingProperties;
+import com.mahajan.habittracker.dto.JfrDumpResponse;
+import com.mahajan.habittracker.exceptions.ProfilingUnavailableException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a low-overhead JFR recording running for the life of the application and dumps recent history on demand.
+ *
+ * Production incidents here are short latency spikes that are over before anyone can attach a profiler. The
+ * recording keeps the last maxAge of JVM events plus the custom streak calculation and JWT verification events
+ * on disk; a dump copies the last N minutes into a file, either through POST /api/admin/profiling/dump or
+ * automatically (off the request thread, at most once per cooldown) when a request crosses the slow-request
+ * threshold. JFR drops history in whole chunks, so a dump holds at least the requested window, and often a
+ * little more.
+ */
+@Component
+@Slf4j
+public class ContinuousRecording implements SmartLifecycle {
+
+    static final String RECORDING_NAME = "habit-tracker";
+    public static final String MANUAL = "manual";
+    static final String SLOW_REQUEST = "slow-request";
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final ProfilingProperties properties;
+    private final Clock clock;
+    private final AtomicLong lastAutoDump = new AtomicLong(NEVER);
+
+    // One dump at a time and at most one queued; the thread exits when idle
+    private final ThreadPoolExecutor dumpExecutor = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), task -> {
+                Thread thread = new Thread(task, "jfr-dump");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private volatile Recording recording;
+
+    @Autowired
+    public ContinuousRecording(ProfilingProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ContinuousRecording(ProfilingProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JFR is not available in this JVM; continuous profiling is off");
+            return;
+        }
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(properties.getConfiguration()).getSettings());
+            settings.putAll(properties.getSettings());
+
+            Recording started = new Recording(settings);
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.getMaxAge());
+            started.setMaxSize(properties.getMaxSize().toBytes());
+            started.enable(StreakCalculationEvent.class);
+            started.enable(JwtVerificationEvent.class);
+            started.start();
+            recording = started;
+            log.info("Continuous JFR recording started ({} configuration, keeping {})",
+                    properties.getConfiguration(), properties.getMaxAge());
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load JFR configuration '{}'; continuous profiling is off", properties.getConfiguration(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Recording running = recording;
+        recording = null;
+        if (running != null) {
+            running.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the last {@code window} of the recording (the default window when null, capped at maxAge) to a new
+     * file in the dump directory.
+     *
+     * @throws ProfilingUnavailableException when the recording is not running
+     */
+    public JfrDumpResponse dump(Duration window, String reason) {
+        Recording running = recording;
+        if (running == null) {
+            throw new ProfilingUnavailableException();
+        }
+        Duration requested = window != null ? window : properties.getDefaultWindow();
+        Duration effective = requested.compareTo(properties.getMaxAge()) > 0 ? properties.getMaxAge() : requested;
+        Instant now = clock.instant();
+        Path file = properties.getDumpDirectory().resolve(RECORDING_NAME + "-" + FILE_TIME.format(now) + "-" + reason + ".jfr");
+        try {
+            Files.createDirectories(properties.getDumpDirectory());
+            // The copy is stopped, so trimming it to the window leaves the running recording untouched
+            try (Recording snapshot = running.copy(true)) {
+                snapshot.setMaxAge(effective);
+                snapshot.dump(file);
+            }
+            long size = Files.size(file);
+            pruneOldDumps();
+            log.info("JFR dump written: {} ({} bytes, last {})", file, size, effective);
+            return new JfrDumpResponse(file.toString(), reason, effective.toSeconds(), size, now);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write JFR dump to " + file, e);
+        }
+    }
+
+    /**
+     * Dumps the default window in the background unless an automatic dump already ran within the cooldown.
+     */
+    public void onSlowRequest(String request, Duration elapsed) {
+        if (recording == null) {
+            return;
+        }
+        long now = clock.millis();
+        long last = lastAutoDump.get();
+        if (last != NEVER && now - last < properties.getAutoDumpCooldown().toMillis()) {
+            return;
+        }
+        if (!lastAutoDump.compareAndSet(last, now)) {
+            return;
+        }
+        log.warn("{} took {} ms (threshold {} ms); dumping the last {} of the JFR recording",
+                request, elapsed.toMillis(), properties.getSlowRequestThreshold().toMillis(), properties.getDefaultWindow());
+        dumpExecutor.execute(() -> {
+            try {
+                dump(null, SLOW_REQUEST);
+            } catch (RuntimeException e) {
+                log.warn("Automatic JFR dump failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void pruneOldDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(properties.getDumpDirectory())) {
+            dumps = files.filter(path -> path.getFileName().toString().startsWith(RECORDING_NAME + "-"))
+                    .filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        }
+        for (Path old : dumps.subList(Math.min(properties.getMaxDumps(), dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+}
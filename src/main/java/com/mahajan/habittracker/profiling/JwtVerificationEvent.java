@@ -0,0 +1,23 @@
+package com.mahajan.habittracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * JFR event around JWT verification in JwtAuthFilter: token parsing plus the user lookup.
+ */
+@Name("habittracker.JwtVerification")
+@Label("JWT Verification")
+@Category("Habit Tracker")
+@Description("Bearer token verified and the user loaded for the security context")
+@StackTrace(false)
+@Setter
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    private String outcome;
+}
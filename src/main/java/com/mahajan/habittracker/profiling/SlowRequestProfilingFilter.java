@@ -0,0 +1,44 @@
+package com.mahajan.habittracker.profiling;
+
+import com.mahajan.habittracker.config.ProfilingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Times each request and hands any slower than app.profiling.slow-request-threshold to the continuous recording,
+ * which dumps the history leading up to it.
+ */
+@RequiredArgsConstructor
+public class SlowRequestProfilingFilter extends OncePerRequestFilter {
+
+    private final ContinuousRecording recording;
+    private final ProfilingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return properties.getSlowRequestThreshold() == null || !recording.isRunning();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (elapsed.compareTo(properties.getSlowRequestThreshold()) >= 0) {
+                recording.onSlowRequest(request.getMethod() + " " + request.getRequestURI(), elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mahajan.habittracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * JFR event around one streak calculation, so slow calculations show up next to GC, lock and socket events.
+ */
+@Name("habittracker.StreakCalculation")
+@Label("Streak Calculation")
+@Category("Habit Tracker")
+@Description("Current and longest streak computed from a habit's completion dates")
+@StackTrace(false)
+@Setter
+public class StreakCalculationEvent extends jdk.jfr.Event {
+
+    @Label("Completion Dates")
+    private int completionDates;
+
+    @Label("Current Streak")
+    private int currentStreak;
+
+    @Label("Longest Streak")
+    private int longestStreak;
+}
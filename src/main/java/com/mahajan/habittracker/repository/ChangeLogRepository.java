@@ -0,0 +1,32 @@
+package com.mahajan.habittracker.repository;
+
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * The user's entries after the cursor, oldest first, served by the (user_id, id) index.
+     */
+    List<ChangeLogEntry> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long cursor, Limit limit);
+
+    /**
+     * The user's latest entry id, or 0 when nothing has been logged for the user yet.
+     */
+    @Query("select coalesce(max(e.id), 0) from ChangeLogEntry e where e.userId = :userId")
+    long findLatestIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * Same as {@link #findLatestIdByUserId}, looked up by the user's email in the same statement.
+     */
+    @Query("select coalesce(max(e.id), 0) from ChangeLogEntry e"
+            + " where e.userId = (select u.id from User u where u.email = :email)")
+    long findLatestIdByUserEmail(@Param("email") String email);
+}
@@ -1,13 +1,18 @@
 package com.mahajan.habittracker.repository;
 
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.HabitCompletion;
 import com.mahajan.habittracker.model.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +25,60 @@ public interface HabitCompletionRepository extends JpaRepository<HabitCompletion
 
     Optional<HabitCompletion> findByHabitAndUserAndCompletionDate(Habit habit, User user, LocalDate date);
 
-    @EntityGraph(attributePaths = {"habit"})
-    List<HabitCompletion> findAllByUserAndCompletionDate(User user, LocalDate date);
+    /**
+     * Completions of the user on one date, projected straight into the response DTO
+     * (no HabitCompletion/Habit entities are hydrated or tracked).
+     */
+    @Query("select new com.mahajan.habittracker.dto.HabitCompletionResponse(h.id, h.name, h.description, c.completionDate) "
+            + "from HabitCompletion c join c.habit h "
+            + "where c.user = :user and c.completionDate = :date")
+    List<HabitCompletionResponse> findAllByUserAndCompletionDate(@Param("user") User user,
+                                                                 @Param("date") LocalDate date);
+
+    /**
+     * Full history of one habit, newest first, projected straight into the response DTO.
+     */
+    @Query("select new com.mahajan.habittracker.dto.HabitCompletionResponse(h.id, h.name, h.description, c.completionDate) "
+            + "from HabitCompletion c join c.habit h "
+            + "where c.habit = :habit and c.user = :user "
+            + "order by c.completionDate desc")
+    List<HabitCompletionResponse> findResponsesByHabitAndUser(@Param("habit") Habit habit,
+                                                              @Param("user") User user);
+
+    /**
+     * All (habitId, date) pairs of the user within [from, to], served by the (user_id, completion_date) index.
+     */
+    @Query("select new com.mahajan.habittracker.dto.HabitCompletionDay(c.habit.id, c.completionDate) "
+            + "from HabitCompletion c "
+            + "where c.user = :user and c.completionDate between :from and :to")
+    List<HabitCompletionDay> findCompletionDaysByUserBetween(@Param("user") User user,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    /**
+     * Every (habitId, date) pair of the user, across all habits, in one query.
+     */
+    @Query("select new com.mahajan.habittracker.dto.HabitCompletionDay(c.habit.id, c.completionDate) "
+            + "from HabitCompletion c "
+            + "where c.user = :user")
+    List<HabitCompletionDay> findCompletionDaysByUser(@Param("user") User user);
+
+    /**
+     * Every (habitId, date) pair of the given habits of the user.
+     */
+    @Query("select new com.mahajan.habittracker.dto.HabitCompletionDay(c.habit.id, c.completionDate) "
+            + "from HabitCompletion c "
+            + "where c.user = :user and c.habit.id in :habitIds")
+    List<HabitCompletionDay> findCompletionDaysByUserAndHabitIds(@Param("user") User user,
+                                                                 @Param("habitIds") Collection<Long> habitIds);
+
+    /**
+     * Completion dates of one habit within [from, to], served by the (habit_id, user_id, completion_date) unique index.
+     */
+    @Query("select c.completionDate from HabitCompletion c "
+            + "where c.habit = :habit and c.user = :user and c.completionDate between :from and :to")
+    List<LocalDate> findCompletionDatesByHabitAndUserBetween(@Param("habit") Habit habit,
+                                                             @Param("user") User user,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
 }
@@ -1,15 +1,42 @@
 package com.mahajan.habittracker.repository;
 
+import com.mahajan.habittracker.dto.HabitExportRow;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface HabitRepository extends JpaRepository<Habit, Long> {
     List<Habit> findByUser(User user);
+
+    List<Habit> findByUserAndIdIn(User user, Collection<Long> ids);
+
+    /**
+     * Ownership check run on every habit and completion call; query-cached on top of the Habit entity cache.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Habit> findByIdAndUser(Long id, User user);
-}
\ No newline at end of file
+
+    /**
+     * Streams every habit of the user joined with its completions, ordered by habit then date.
+     * Rows are DTO projections fetched through a forward-only cursor, so nothing accumulates
+     * in the persistence context. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.mahajan.habittracker.dto.HabitExportRow(h.id, h.name, h.description, c.completionDate) "
+            + "from Habit h left join h.completions c "
+            + "where h.user = :user "
+            + "order by h.id, c.completionDate")
+    Stream<HabitExportRow> streamExportRowsByUser(@Param("user") User user);
+}
@@ -1,10 +1,27 @@
 package com.mahajan.habittracker.repository;
 
 import com.mahajan.habittracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Looked up on every authenticated request; the result is query-cached and the User itself is in the
+     * second-level cache.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    /**
+     * Locks the user's row until the transaction ends (see ChangeLogService#beginChange). Native, so the
+     * entity is neither loaded nor touched in the second-level cache.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
 }
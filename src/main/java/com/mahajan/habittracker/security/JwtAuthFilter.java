@@ -1,14 +1,18 @@
 package com.mahajan.habittracker.security;
 
+import com.mahajan.habittracker.config.HealthProbeConfig;
+import com.mahajan.habittracker.profiling.JwtVerificationEvent;
 import com.mahajan.habittracker.util.JwtUtil;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,18 +23,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    static final String AUTH_SPAN = "jwt.authenticate";
+
     private final JwtUtil jwtUtil;
     private final UserAuthService userAuthService;
+    private final Tracer tracer;
+
+    // Tracer is optional so @WebMvcTest slices, which have no tracing, can still load the filter
+    public JwtAuthFilter(JwtUtil jwtUtil, UserAuthService userAuthService, ObjectProvider<Tracer> tracer) {
+        this.jwtUtil = jwtUtil;
+        this.userAuthService = userAuthService;
+        Tracer available = tracer.getIfAvailable();
+        this.tracer = available != null ? available : Tracer.NOOP;
+    }
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
         String path = request.getRequestURI();
         // Skip JWT filtering for public endpoints
-        return path.equals("/health") 
+        return path.equals(HealthProbeConfig.LIVENESS_PATH)
+                || path.equals(HealthProbeConfig.READINESS_PATH)
                 || path.equals("/api/auth/login") 
                 || path.equals("/api/auth/signup");
     }
@@ -50,13 +65,33 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
+        // Own span, so a trace shows token parsing and the user lookup apart from the controller;
+        // the JFR event puts the same work on the continuous recording's timeline
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Span span = tracer.nextSpan().name(AUTH_SPAN).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            String outcome = authenticate(token);
+            span.tag("outcome", outcome);
+            event.setOutcome(outcome);
+        } finally {
+            span.end();
+            event.commit();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Validates the token and sets the authentication; returns the outcome for the span tag.
+     */
+    private String authenticate(String token) {
         try {
             // Validate token and extract email (sub)
             String email = jwtUtil.extractEmail(token);
 
             if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                filterChain.doFilter(request, response); // pass to next filter
-                return;
+                return "already-authenticated";
             }
             UserDetails userDetails = userAuthService.loadUserByUsername(email);
 
@@ -64,18 +99,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
             SecurityContextHolder.getContext().setAuthentication(authToken);
+            return "authenticated";
 
         } catch (ExpiredJwtException e) {
             // Expired tokens are expected and common - log at debug level
             log.debug("Expired JWT token for user: {}", e.getClaims().getSubject());
+            return "expired";
         } catch (JwtException e) {
             // Invalid JWT format or signature - log at warn level but without stack trace
             log.warn("Invalid JWT token: {}", e.getMessage());
+            return "invalid";
         } catch (Exception e) {
             // Unexpected errors - log with more detail
             log.warn("JWT authentication failed: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+            return "error";
         }
-
-        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
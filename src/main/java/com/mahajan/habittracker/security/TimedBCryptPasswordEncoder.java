@@ -0,0 +1,28 @@
+package com.mahajan.habittracker.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCryptPasswordEncoder that times every password verification, tagged by outcome (match, mismatch).
+ * BCrypt is deliberately slow, so this is usually the largest share of login latency.
+ */
+public class TimedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    static final String VERIFY_TIMER = "auth.password.verify";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedBCryptPasswordEncoder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = super.matches(rawPassword, encodedPassword);
+        sample.stop(meterRegistry.timer(VERIFY_TIMER, "outcome", matches ? "match" : "mismatch"));
+        return matches;
+    }
+}
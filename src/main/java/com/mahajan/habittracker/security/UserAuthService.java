@@ -1,5 +1,6 @@
 package com.mahajan.habittracker.security;
 
+import com.mahajan.habittracker.config.AdminProperties;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,16 +18,22 @@ import java.util.List;
 public class UserAuthService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AdminProperties adminProperties;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        List<SimpleGrantedAuthority> authorities = adminProperties.getEmails().contains(user.getEmail())
+                ? List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN"))
+                : List.of(new SimpleGrantedAuthority("USER"));
+
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                List.of(new SimpleGrantedAuthority("USER"))
+                authorities
         );
     }
 }
@@ -0,0 +1,77 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.dto.ChangeEvent;
+import com.mahajan.habittracker.events.ChangeEventHub;
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.model.ChangeLogEntry.EntityType;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Appends habit and completion changes to the change log, inside the transaction that makes them
+ * (every method requires one), so an entry exists exactly when its change was committed.
+ *
+ * Entry ids are the sync cursor, and a client that has seen id N never asks for anything below it again.
+ * Ids are allocated on insert but become visible on commit, so two concurrent writers of the same user
+ * could commit out of order and a sync in between would skip the lower id for good. {@link #beginChange}
+ * prevents that by serializing each user's write transactions.
+ *
+ * Every entry is also pushed to the user's open /api/events streams once its transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeLogService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final UserRepository userRepository;
+    private final ChangeEventHub changeEventHub;
+
+    /**
+     * Locks the user's row until the transaction ends, so the user's entries commit in id order. Must be
+     * the transaction's first write: inserting a habit or completion takes a share lock on the same row
+     * (foreign key check), and two transactions holding that and both asking for this lock deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beginChange(User user) {
+        userRepository.lockById(user.getId());
+    }
+
+    /**
+     * The cursor a client that has everything up to now would send to /api/sync (0 before the first change).
+     */
+    @Transactional(readOnly = true)
+    public long getLatestCursor(User user) {
+        return changeLogRepository.findLatestIdByUserId(user.getId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void habitChanged(User user, Long habitId, Operation operation) {
+        append(user, EntityType.HABIT, operation, habitId, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void completionChanged(User user, Long habitId, LocalDate completionDate, Operation operation) {
+        append(user, EntityType.COMPLETION, operation, habitId, completionDate);
+    }
+
+    private void append(User user, EntityType entityType, Operation operation, Long habitId, LocalDate completionDate) {
+        ChangeLogEntry entry = changeLogRepository.save(ChangeLogEntry.builder()
+                .userId(user.getId())
+                .entityType(entityType)
+                .operation(operation)
+                .habitId(habitId)
+                .completionDate(completionDate)
+                .changedAt(Instant.now())
+                .build());
+        changeEventHub.publishAfterCommit(user.getId(), ChangeEvent.fromEntry(entry));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.dto.DashboardHabitResponse;
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.StreakResult;
+import com.mahajan.habittracker.dto.TodayDashboardResponse;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles the home screen ("today") view.
+ * Uses exactly two queries regardless of the number of habits: one for the habits and one for
+ * the (habitId, date) pairs of all their completions. Longest streak needs the full history,
+ * so the completion query is not date-bounded, but it only reads two columns per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final HabitService habitService;
+    private final HabitCompletionService completionService;
+
+    @Transactional(readOnly = true)
+    public TodayDashboardResponse getTodayDashboard(User user) {
+        LocalDate today = LocalDate.now();
+        List<Habit> habits = habitService.getHabitsForUser(user);
+        List<HabitCompletionDay> days = completionService.getCompletionDaysForUser(user);
+
+        Map<Long, StreakResult> streaks = habitService.calculateStreaks(habits, days);
+        Set<Long> completedToday = days.stream()
+                .filter(day -> day.completionDate().equals(today))
+                .map(HabitCompletionDay::habitId)
+                .collect(Collectors.toSet());
+
+        List<DashboardHabitResponse> responses = habits.stream()
+                .map(habit -> DashboardHabitResponse.fromEntity(habit, completedToday.contains(habit.getId()),
+                        streaks.get(habit.getId())))
+                .toList();
+        return new TodayDashboardResponse(today, responses);
+    }
+}
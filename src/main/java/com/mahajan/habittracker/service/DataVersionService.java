@@ -0,0 +1,62 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.web.Representation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Derives a per-user data version from the change log: the id of the user's latest entry, which grows with
+ * every habit or completion write (see ChangeLogService).
+ *
+ * The version backs the weak ETags on the habit and completion GET endpoints, so a poll whose If-None-Match
+ * still matches can be answered with 304 after a single indexed lookup, before any habit or completion query
+ * runs. The version lives in the database, so every instance sees writes made through any other. Tagged GETs
+ * go through {@link #readIfModified}, which reads the version first and the body after it in the same
+ * read-only transaction, so both come from the same database (primary or a lagging replica) and a response
+ * is never tagged with a version newer than its body. The tag also
+ * carries today's date because streaks and the default completion date roll over at midnight, and the
+ * representation (JSON, CBOR or Smile), since each encodes the same data into different bytes. The tags are
+ * weak because the same data is served gzip-encoded or not depending on Accept-Encoding (and Tomcat does not
+ * compress strong-ETag responses); conditional GETs compare them weakly, so 304s are unaffected.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    /**
+     * The user's latest change log id, or 0 before their first write.
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(String email) {
+        return changeLogRepository.findLatestIdByUserEmail(email);
+    }
+
+    /**
+     * Returns the current weak ETag ({@code W/"..."}) for the user's habit and completion data in the given
+     * representation.
+     */
+    @Transactional(readOnly = true)
+    public String eTagFor(String email, Representation representation) {
+        return "W/\"" + getVersion(email) + "-" + LocalDate.now().toEpochDay() + "-" + representation.getCode() + "\"";
+    }
+
+    /**
+     * Answers a conditional GET: computes the ETag, returns null when {@code notModified} accepts it (the
+     * caller's 304), and otherwise returns what {@code loader} builds from the tag. The service calls made by
+     * the loader join this transaction, so they read from the same connection as the version.
+     */
+    @Transactional(readOnly = true)
+    public <T> T readIfModified(String email, Representation representation,
+                                Predicate<String> notModified, Function<String, T> loader) {
+        String eTag = eTagFor(email, representation);
+        return notModified.test(eTag) ? null : loader.apply(eTag);
+    }
+}
@@ -0,0 +1,117 @@
+package com.mahajan.habittracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.ExportFormat;
+import com.mahajan.habittracker.dto.HabitExportRow;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.HabitRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full habit and completion history to an output stream.
+ * Rows are read through a database cursor and written as they arrive,
+ * so memory use does not grow with the size of the history.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    static final String CSV_HEADER = "habit_id,habit_name,habit_description,completion_date";
+
+    private final HabitRepository habitRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the export in the requested format. The transaction stays open for the whole write,
+     * which keeps the cursor alive; the caller owns (and closes) the output stream.
+     */
+    @Transactional(readOnly = true)
+    public void writeExport(User user, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<HabitExportRow> rows = habitRepository.streamExportRowsByUser(user)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * One JSON object per line: a "habit" line the first time a habit is seen,
+     * followed by one "completion" line per completion date.
+     */
+    private void writeNdjson(Iterator<HabitExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        Long previousHabitId = null;
+        while (rows.hasNext()) {
+            HabitExportRow row = rows.next();
+            if (!row.habitId().equals(previousHabitId)) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "habit");
+                generator.writeNumberField("id", row.habitId());
+                generator.writeStringField("name", row.habitName());
+                generator.writeStringField("description", row.habitDescription());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                previousHabitId = row.habitId();
+            }
+            if (row.completionDate() != null) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "completion");
+                generator.writeNumberField("habitId", row.habitId());
+                generator.writeStringField("completionDate", row.completionDate().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * One CSV row per completion; habits with no completions get a single row with an empty date.
+     */
+    private void writeCsv(Iterator<HabitExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            HabitExportRow row = rows.next();
+            writer.write(row.habitId().toString());
+            writer.write(',');
+            writer.write(escapeCsv(row.habitName()));
+            writer.write(',');
+            writer.write(escapeCsv(row.habitDescription()));
+            writer.write(',');
+            writer.write(Objects.toString(row.completionDate(), ""));
+            writer.write('\n');
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,7 +1,10 @@
 package com.mahajan.habittracker.service;
 
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
 import com.mahajan.habittracker.exceptions.HabitAlreadyCompletedException;
 import com.mahajan.habittracker.exceptions.HabitCompletionNotFoundException;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.HabitCompletion;
 import com.mahajan.habittracker.model.User;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -18,9 +22,11 @@ import java.util.List;
 public class HabitCompletionService {
 
     private final HabitCompletionRepository completionRepository;
+    private final ChangeLogService changeLogService;
 
     @Transactional
     public HabitCompletion markCompleted(Habit habit, User user, LocalDate date) {
+        changeLogService.beginChange(user);
         if (completionRepository.existsByHabitAndUserAndCompletionDate(habit, user, date)) {
             throw new HabitAlreadyCompletedException(habit.getId(), date.toString());
         }
@@ -31,16 +37,20 @@ public class HabitCompletionService {
                 .completionDate(date)
                 .build();
 
-        return completionRepository.save(completion);
+        HabitCompletion saved = completionRepository.save(completion);
+        changeLogService.completionChanged(user, habit.getId(), date, Operation.UPSERT);
+        return saved;
     }
 
     @Transactional
     public void unmarkCompleted(Habit habit, User user, LocalDate date) {
+        changeLogService.beginChange(user);
         HabitCompletion completion = completionRepository
                 .findByHabitAndUserAndCompletionDate(habit, user, date)
                 .orElseThrow(() -> new HabitCompletionNotFoundException(habit.getId(), date.toString()));
 
         completionRepository.delete(completion);
+        changeLogService.completionChanged(user, habit.getId(), date, Operation.DELETE);
     }
 
     @Transactional(readOnly = true)
@@ -49,7 +59,27 @@ public class HabitCompletionService {
     }
 
     @Transactional(readOnly = true)
-    public List<HabitCompletion> getCompletionsByDate(User user, LocalDate date) {
+    public List<HabitCompletionResponse> getCompletionResponsesForHabit(Habit habit, User user) {
+        return completionRepository.findResponsesByHabitAndUser(habit, user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HabitCompletionResponse> getCompletionsByDate(User user, LocalDate date) {
         return completionRepository.findAllByUserAndCompletionDate(user, date);
     }
+
+    @Transactional(readOnly = true)
+    public List<HabitCompletionDay> getCompletionDaysBetween(User user, LocalDate from, LocalDate to) {
+        return completionRepository.findCompletionDaysByUserBetween(user, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HabitCompletionDay> getCompletionDaysForUser(User user) {
+        return completionRepository.findCompletionDaysByUser(user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HabitCompletionDay> getCompletionDaysForHabits(User user, Collection<Long> habitIds) {
+        return completionRepository.findCompletionDaysByUserAndHabitIds(user, habitIds);
+    }
 }
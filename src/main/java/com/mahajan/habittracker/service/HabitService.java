@@ -1,51 +1,85 @@
 package com.mahajan.habittracker.service;
 
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitHeatmapResponse;
+import com.mahajan.habittracker.dto.HeatmapResponse;
 import com.mahajan.habittracker.dto.StreakResult;
 import com.mahajan.habittracker.exceptions.HabitNotFoundException;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.util.DayBitmapUtil;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class HabitService {
     private final HabitRepository habitRepository;
     private final HabitCompletionService completionService;
     private final StreakCalculationService streakCalculationService;
+    private final ChangeLogService changeLogService;
 
+    @Transactional(readOnly = true)
     public List<Habit> getHabitsForUser(User user) {
         return habitRepository.findByUser(user);
     }
 
+    @Transactional(readOnly = true)
     public Habit getHabitByIdForUser(Long habitId, User user) {
         return habitRepository.findByIdAndUser(habitId, user)
-                .orElseThrow(() -> {
-                    log.warn("Habit with id={} not found for userEmail={}", habitId, user.getEmail());
-                    return new HabitNotFoundException(habitId, user.getEmail());
-                });
+                .orElseThrow(() -> new HabitNotFoundException(habitId, user.getEmail()));
     }
 
+    /**
+     * Habits of the user with the given ids; ids that are not (or no longer) the user's are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<Habit> getHabitsByIdsForUser(Collection<Long> habitIds, User user) {
+        return habitIds.isEmpty() ? List.of() : habitRepository.findByUserAndIdIn(user, habitIds);
+    }
+
+    @Transactional
     public Habit createHabitForUser(Habit habit, User user) {
+        changeLogService.beginChange(user);
         habit.setUser(user);
-        return habitRepository.save(habit);
+        Habit saved = habitRepository.save(habit);
+        changeLogService.habitChanged(user, saved.getId(), Operation.UPSERT);
+        return saved;
     }
 
+    @Transactional
     public Habit updateHabitForUser(Habit inHabit, User user) {
+        changeLogService.beginChange(user);
         Habit outHabit = getHabitByIdForUser(inHabit.getId(), user);
         outHabit.setName(inHabit.getName());
         outHabit.setDescription(inHabit.getDescription());
-        return habitRepository.save(outHabit);
+        Habit saved = habitRepository.save(outHabit);
+        changeLogService.habitChanged(user, saved.getId(), Operation.UPSERT);
+        return saved;
     }
 
+    /**
+     * Deletes the habit and, by cascade, its completions. Only the habit's deletion is logged; it implies
+     * that the completions are gone too.
+     */
+    @Transactional
     public void deleteHabitForUser(long inHabitId, User user) {
+        changeLogService.beginChange(user);
         Habit existing = getHabitByIdForUser(inHabitId, user);
         habitRepository.delete(existing);
+        changeLogService.habitChanged(user, existing.getId(), Operation.DELETE);
     }
 
     /**
@@ -60,5 +94,82 @@ public class HabitService {
                 completionService.getAllCompletionsForHabit(habit, user);
         return streakCalculationService.calculateStreaks(completions);
     }
-}
 
+    /**
+     * Calculates streaks for several of the user's habits from a single completion query,
+     * instead of one query per habit.
+     *
+     * @param habits The user's habits
+     * @param user   The user who owns the habits
+     * @return StreakResult per habit id; habits without completions get zero streaks
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, StreakResult> calculateStreaksForHabits(List<Habit> habits, User user) {
+        return calculateStreaks(habits, completionService.getCompletionDaysForUser(user));
+    }
+
+    /**
+     * Same as {@link #calculateStreaksForHabits}, but only reads the completions of the given habits;
+     * cheaper when they are a few of the user's habits, e.g. the ones changed since a sync cursor.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, StreakResult> calculateStreaksForSelectedHabits(List<Habit> habits, User user) {
+        if (habits.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> habitIds = habits.stream().map(Habit::getId).toList();
+        return calculateStreaks(habits, completionService.getCompletionDaysForHabits(user, habitIds));
+    }
+
+    /**
+     * Same as {@link #calculateStreaksForHabits}, for callers that have already loaded the completion days
+     * and need them for something else too, e.g. the dashboard's completed-today flags.
+     *
+     * @param habits The user's habits
+     * @param days   Completion days of (at least) those habits, in any order
+     * @return StreakResult per habit id; habits without completions get zero streaks
+     */
+    public Map<Long, StreakResult> calculateStreaks(List<Habit> habits, List<HabitCompletionDay> days) {
+        Map<Long, List<LocalDate>> datesByHabit = new HashMap<>();
+        for (HabitCompletionDay day : days) {
+            datesByHabit.computeIfAbsent(day.habitId(), id -> new ArrayList<>()).add(day.completionDate());
+        }
+
+        Map<Long, StreakResult> streaks = new HashMap<>();
+        for (Habit habit : habits) {
+            streaks.put(habit.getId(), streakCalculationService.calculateStreaksFromDates(
+                    datesByHabit.getOrDefault(habit.getId(), List.of())));
+        }
+        return streaks;
+    }
+
+    /**
+     * Builds the year heatmap for all of the user's habits from a single completion range query.
+     * Habits without completions in that year get an all-zero bitmap.
+     *
+     * @param user The user who owns the habits
+     * @param year The calendar year to render
+     * @return HeatmapResponse with one base64 day bitmap per habit
+     */
+    @Transactional(readOnly = true)
+    public HeatmapResponse getHeatmapForUser(User user, int year) {
+        Map<Long, byte[]> bitmaps = new LinkedHashMap<>();
+        for (Habit habit : getHabitsForUser(user)) {
+            bitmaps.put(habit.getId(), DayBitmapUtil.newYearBitmap());
+        }
+
+        LocalDate from = Year.of(year).atDay(1);
+        LocalDate to = from.withDayOfYear(from.lengthOfYear());
+        for (HabitCompletionDay day : completionService.getCompletionDaysBetween(user, from, to)) {
+            byte[] bitmap = bitmaps.get(day.habitId());
+            if (bitmap != null) {
+                DayBitmapUtil.setDay(bitmap, day.completionDate());
+            }
+        }
+
+        List<HabitHeatmapResponse> habits = bitmaps.entrySet().stream()
+                .map(entry -> new HabitHeatmapResponse(entry.getKey(), DayBitmapUtil.toBase64(entry.getValue())))
+                .toList();
+        return new HeatmapResponse(year, habits);
+    }
+}
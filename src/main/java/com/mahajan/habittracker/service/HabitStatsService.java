@@ -0,0 +1,119 @@
+package com.mahajan.habittracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mahajan.habittracker.dto.HabitStatsResponse;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for rolling completion-rate statistics.
+ *
+ * The last 365 days are loaded with one date-only query and laid out as an array indexed by
+ * epoch-day offset. A single pass builds a prefix-sum array and the weekday histogram, after which
+ * every window rate is one subtraction. Results are cached per habit, tagged with the owner's
+ * change log version (see DataVersionService) and the day: an entry is used only while both still
+ * match, so any write by the user, made through any instance, and the day rolling over make it stale.
+ * The version is read on the same connection as the completions, before them, so an entry is never
+ * tagged newer than its data, whether it was read from the primary or from a lagging replica. The
+ * cache keeps the most recently used MAX_CACHED_HABITS habits; the entries are immutable, so every
+ * caller can share them.
+ */
+@Service
+@RequiredArgsConstructor
+public class HabitStatsService {
+
+    static final int WINDOW_DAYS = 365;
+    static final long MAX_CACHED_HABITS = 10_000;
+
+    private final HabitCompletionRepository completionRepository;
+    private final ChangeLogRepository changeLogRepository;
+
+    private final Cache<Long, CachedStats> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_HABITS)
+            .build();
+
+    /**
+     * Returns the stats for a habit, computing them on a cache miss or when the cached entry is from an
+     * earlier day or an older data version.
+     *
+     * @param habit The habit (ownership must already be verified)
+     * @param user  The user who owns the habit
+     * @return HabitStatsResponse as of today
+     */
+    @Transactional(readOnly = true)
+    public HabitStatsResponse getStatsForHabit(Habit habit, User user) {
+        LocalDate today = LocalDate.now();
+        long version = changeLogRepository.findLatestIdByUserId(user.getId());
+        CachedStats cached = cache.getIfPresent(habit.getId());
+        if (cached != null && cached.version() == version && today.equals(cached.stats().getAsOf())) {
+            return cached.stats();
+        }
+        LocalDate from = today.minusDays(WINDOW_DAYS - 1L);
+        List<LocalDate> dates = completionRepository.findCompletionDatesByHabitAndUserBetween(habit, user, from, today);
+        HabitStatsResponse stats = calculateStats(habit.getId(), dates, today);
+        // A request that read an older version (e.g. from the replica) does not replace a newer entry
+        cache.asMap().merge(habit.getId(), new CachedStats(version, stats),
+                (current, computed) -> current.version() > computed.version() ? current : computed);
+        return stats;
+    }
+
+    /**
+     * Computes the stats for the 365-day window ending at {@code today}. Dates outside the window are ignored.
+     */
+    static HabitStatsResponse calculateStats(Long habitId, List<LocalDate> dates, LocalDate today) {
+        long startEpochDay = today.toEpochDay() - (WINDOW_DAYS - 1);
+
+        boolean[] completed = new boolean[WINDOW_DAYS];
+        for (LocalDate date : dates) {
+            long offset = date.toEpochDay() - startEpochDay;
+            if (offset >= 0 && offset < WINDOW_DAYS) {
+                completed[(int) offset] = true;
+            }
+        }
+
+        // prefix[i] = number of completed days in offsets [0, i)
+        int[] prefix = new int[WINDOW_DAYS + 1];
+        int[] weekdayCounts = new int[7];
+        int startDow = LocalDate.ofEpochDay(startEpochDay).getDayOfWeek().ordinal();
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            int done = completed[i] ? 1 : 0;
+            prefix[i + 1] = prefix[i] + done;
+            weekdayCounts[(startDow + i) % 7] += done;
+        }
+
+        Map<DayOfWeek, Integer> byWeekday = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dow : DayOfWeek.values()) {
+            byWeekday.put(dow, weekdayCounts[dow.ordinal()]);
+        }
+
+        return HabitStatsResponse.builder()
+                .habitId(habitId)
+                .asOf(today)
+                .last7Days(rate(prefix, 7))
+                .last30Days(rate(prefix, 30))
+                .last90Days(rate(prefix, 90))
+                .last365Days(rate(prefix, 365))
+                .completionsByWeekday(Collections.unmodifiableMap(byWeekday))
+                .build();
+    }
+
+    private static double rate(int[] prefix, int days) {
+        return (double) (prefix[WINDOW_DAYS] - prefix[WINDOW_DAYS - days]) / days;
+    }
+
+    private record CachedStats(long version, HabitStatsResponse stats) {
+    }
+}
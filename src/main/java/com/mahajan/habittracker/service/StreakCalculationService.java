@@ -2,19 +2,31 @@ package com.mahajan.habittracker.service;
 
 import com.mahajan.habittracker.dto.StreakResult;
 import com.mahajan.habittracker.model.HabitCompletion;
+import com.mahajan.habittracker.profiling.StreakCalculationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for calculating habit streaks.
  * Handles current streak and longest streak calculations.
+ * Each calculation is timed and traced as its own span, tagged by the size of the completion history,
+ * and recorded as a StreakCalculationEvent for the continuous JFR recording.
  */
 @Service
+@RequiredArgsConstructor
 public class StreakCalculationService {
 
+    static final String CALCULATION_TIMER = "habit.streaks.calculation";
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+
     /**
      * Calculates both current and longest streaks for a habit based on its completions.
      *
@@ -22,15 +34,72 @@ public class StreakCalculationService {
      * @return StreakResult containing currentStreak and longestStreak
      */
     public StreakResult calculateStreaks(List<HabitCompletion> completions) {
-        if (completions == null || completions.isEmpty()) {
+        if (completions == null) {
+            return calculateStreaksFromDates(List.of());
+        }
+
+        return calculateStreaksFromDates(completions.stream()
+                .map(HabitCompletion::getCompletionDate)
+                .toList());
+    }
+
+    /**
+     * Calculates both current and longest streaks from raw completion dates.
+     * Used when completions are read as lightweight projections instead of entities.
+     *
+     * @param dates Completion dates in any order; duplicates are ignored
+     * @return StreakResult containing currentStreak and longestStreak
+     */
+    public StreakResult calculateStreaksFromDates(Collection<LocalDate> dates) {
+        String history = historyBucket((dates == null) ? 0 : dates.size());
+        Span span = tracer.nextSpan().name(CALCULATION_TIMER).tag("history", history).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return meterRegistry.timer(CALCULATION_TIMER, "history", history)
+                    .record(() -> computeStreaksRecorded(dates));
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Buckets a completion history size for the timer and span tag, keeping the tag cardinality fixed.
+     */
+    static String historyBucket(int size) {
+        if (size == 0) {
+            return "0";
+        } else if (size <= 7) {
+            return "1-7";
+        } else if (size <= 30) {
+            return "8-30";
+        } else if (size <= 90) {
+            return "31-90";
+        } else if (size <= 365) {
+            return "91-365";
+        }
+        return "366+";
+    }
+
+    private StreakResult computeStreaksRecorded(Collection<LocalDate> dates) {
+        StreakCalculationEvent event = new StreakCalculationEvent();
+        event.begin();
+        StreakResult result = computeStreaks(dates);
+        if (event.shouldCommit()) {
+            event.setCompletionDates(dates == null ? 0 : dates.size());
+            event.setCurrentStreak(result.currentStreak());
+            event.setLongestStreak(result.longestStreak());
+            event.commit();
+        }
+        return result;
+    }
+
+    private StreakResult computeStreaks(Collection<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
             return new StreakResult(0, 0);
         }
 
         // Get unique completion dates, sorted in ascending order
         // TreeSet automatically handles duplicates and maintains sorted order
-        Set<LocalDate> completionDates = completions.stream()
-                .map(HabitCompletion::getCompletionDate)
-                .collect(Collectors.toCollection(TreeSet::new));
+        Set<LocalDate> completionDates = new TreeSet<>(dates);
 
         // Create ArrayList for indexed iteration (needed for calculateLongestStreak)
         // and HashSet for O(1) lookup performance (needed for calculateCurrentStreak)
@@ -0,0 +1,150 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitResponse;
+import com.mahajan.habittracker.dto.StreakResult;
+import com.mahajan.habittracker.dto.SyncResponse;
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.model.ChangeLogEntry.EntityType;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Delta sync over the change log: instead of refetching every habit (with streaks) and every completion,
+ * a client sends the cursor of its last sync and gets back only what changed since.
+ *
+ * Current streaks also change without any write, when the day rolls over. So the client also sends the day
+ * of its last sync, and a delta requested on a later day (or without a day) lists every live habit with
+ * streaks as of today.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    /**
+     * Change log entries read per request; a client further behind gets hasMore and asks again.
+     */
+    static final int PAGE_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final HabitService habitService;
+    private final HabitCompletionService completionService;
+
+    /**
+     * @param since cursor of the client's last sync, or null for a full snapshot
+     * @param day   the {@code day} of the client's last sync response; ignored without {@code since}
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse sync(User user, Long since, LocalDate day) {
+        LocalDate today = LocalDate.now();
+        return since == null ? snapshot(user, today) : changesSince(user, since, !today.equals(day), today);
+    }
+
+    /**
+     * Everything the user has, with the cursor read first: changes committed while the snapshot is read may
+     * be in it and are sent again by the next sync, which is harmless because applying a change is idempotent.
+     */
+    private SyncResponse snapshot(User user, LocalDate today) {
+        long cursor = changeLogRepository.findLatestIdByUserId(user.getId());
+        List<Habit> habits = habitService.getHabitsForUser(user);
+        Map<Long, StreakResult> streaks = habitService.calculateStreaksForHabits(habits, user);
+        return SyncResponse.builder()
+                .cursor(cursor)
+                .day(today)
+                .full(true)
+                .habits(toResponses(habits, streaks))
+                .deletedHabitIds(List.of())
+                .completions(completionService.getCompletionDaysForUser(user))
+                .deletedCompletions(List.of())
+                .build();
+    }
+
+    private SyncResponse changesSince(User user, long since, boolean dayChanged, LocalDate today) {
+        List<ChangeLogEntry> entries = changeLogRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                user.getId(), since, Limit.of(PAGE_SIZE + 1));
+        boolean hasMore = entries.size() > PAGE_SIZE;
+        if (hasMore) {
+            entries = entries.subList(0, PAGE_SIZE);
+        }
+
+        // Only the last operation per habit and per completion counts
+        Map<Long, Operation> habitChanges = new LinkedHashMap<>();
+        Map<HabitCompletionDay, Operation> completionChanges = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == EntityType.HABIT) {
+                habitChanges.put(entry.getHabitId(), entry.getOperation());
+            } else {
+                completionChanges.put(new HabitCompletionDay(entry.getHabitId(), entry.getCompletionDate()),
+                        entry.getOperation());
+            }
+        }
+
+        Set<Long> deletedHabitIds = new TreeSet<>();
+        habitChanges.forEach((habitId, operation) -> {
+            if (operation == Operation.DELETE) {
+                deletedHabitIds.add(habitId);
+            }
+        });
+
+        // Changed habits, and habits whose completions (and so streaks) changed
+        Set<Long> changedHabitIds = new TreeSet<>(habitChanges.keySet());
+        completionChanges.keySet().forEach(day -> changedHabitIds.add(day.habitId()));
+        changedHabitIds.removeAll(deletedHabitIds);
+
+        List<HabitCompletionDay> completions = new ArrayList<>();
+        List<HabitCompletionDay> deletedCompletions = new ArrayList<>();
+        completionChanges.forEach((day, operation) -> {
+            if (!deletedHabitIds.contains(day.habitId())) {
+                (operation == Operation.DELETE ? deletedCompletions : completions).add(day);
+            }
+        });
+
+        // A habit deleted after this page's last entry is simply missing here; its DELETE is on the next page.
+        // On a new day every habit's current streak may have changed, so all of them are sent.
+        List<Habit> habits;
+        Map<Long, StreakResult> streaks;
+        if (dayChanged) {
+            habits = habitService.getHabitsForUser(user);
+            streaks = habitService.calculateStreaksForHabits(habits, user);
+        } else {
+            habits = habitService.getHabitsByIdsForUser(changedHabitIds, user);
+            streaks = habitService.calculateStreaksForSelectedHabits(habits, user);
+        }
+
+        return SyncResponse.builder()
+                .cursor(entries.isEmpty() ? since : entries.get(entries.size() - 1).getId())
+                .day(today)
+                .full(false)
+                .hasMore(hasMore)
+                .habits(toResponses(habits, streaks))
+                .deletedHabitIds(List.copyOf(deletedHabitIds))
+                .completions(completions)
+                .deletedCompletions(deletedCompletions)
+                .build();
+    }
+
+    private static List<HabitResponse> toResponses(List<Habit> habits, Map<Long, StreakResult> streaks) {
+        return habits.stream()
+                .sorted(Comparator.comparing(Habit::getId))
+                .map(habit -> {
+                    StreakResult streakResult = streaks.get(habit.getId());
+                    return HabitResponse.fromEntity(habit, streakResult.currentStreak(), streakResult.longestStreak());
+                })
+                .toList();
+    }
+}
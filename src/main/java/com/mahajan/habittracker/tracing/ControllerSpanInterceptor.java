@@ -0,0 +1,77 @@
+package com.mahajan.habittracker.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Opens a span around each controller method, named after it (e.g. {@code HabitController.getHabits}).
+ *
+ * The HTTP server span covers the whole request including the security filters; this one starts once the
+ * handler is chosen, so service and JDBC spans nest under the controller method that caused them.
+ * For async handlers (the streamed export) the scope is closed when the request thread is released and
+ * reopened on the async dispatch, so the span covers the whole response without leaking onto the thread.
+ */
+@RequiredArgsConstructor
+public class ControllerSpanInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SPAN_ATTRIBUTE = ControllerSpanInterceptor.class.getName() + ".span";
+    private static final String SCOPE_ATTRIBUTE = ControllerSpanInterceptor.class.getName() + ".scope";
+
+    private final Tracer tracer;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getAttribute(SPAN_ATTRIBUTE) instanceof Span span) {
+            // async dispatch of a handler that already has its span
+            request.setAttribute(SCOPE_ATTRIBUTE, tracer.withSpan(span));
+        } else if (handler instanceof HandlerMethod method) {
+            Span span = tracer.nextSpan()
+                    .name(spanName(method))
+                    .tag("code.namespace", method.getBeanType().getName())
+                    .tag("code.function", method.getMethod().getName())
+                    .start();
+            request.setAttribute(SPAN_ATTRIBUTE, span);
+            request.setAttribute(SCOPE_ATTRIBUTE, tracer.withSpan(span));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        closeScope(request);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (!(request.getAttribute(SPAN_ATTRIBUTE) instanceof Span span)) {
+            return;
+        }
+        closeScope(request);
+        span.tag("http.status_code", String.valueOf(response.getStatus()));
+        if (ex != null) {
+            span.error(ex);
+        }
+        span.end();
+        request.removeAttribute(SPAN_ATTRIBUTE);
+    }
+
+    private void closeScope(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Tracer.SpanInScope scope) {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+        }
+    }
+
+    static String spanName(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mahajan.habittracker.util;
+
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Compact per-year completion bitmaps used by the heatmap endpoint.
+ *
+ * A year is stored as 366 bits (46 bytes), one bit per day-of-year, so a full year of
+ * completions for a habit encodes to a 64-character base64 string.
+ * Bit {@code n} lives in byte {@code n / 8} at position {@code n % 8} (little-endian within a byte),
+ * the same layout as {@link java.util.BitSet#toByteArray()} but always padded to the full length.
+ */
+public final class DayBitmapUtil {
+
+    public static final int DAYS_PER_YEAR = 366;
+    public static final int BYTES_PER_YEAR = (DAYS_PER_YEAR + 7) / 8;
+
+    private DayBitmapUtil() {
+    }
+
+    public static byte[] newYearBitmap() {
+        return new byte[BYTES_PER_YEAR];
+    }
+
+    /**
+     * Sets the bit for the given date. The caller is responsible for only passing dates from the bitmap's year.
+     */
+    public static void setDay(byte[] bitmap, LocalDate date) {
+        int bit = date.getDayOfYear() - 1;
+        bitmap[bit >> 3] |= (byte) (1 << (bit & 7));
+    }
+
+    public static boolean isSet(byte[] bitmap, LocalDate date) {
+        int bit = date.getDayOfYear() - 1;
+        return (bitmap[bit >> 3] & (1 << (bit & 7))) != 0;
+    }
+
+    public static String toBase64(byte[] bitmap) {
+        return Base64.getEncoder().encodeToString(bitmap);
+    }
+}
@@ -1,8 +1,12 @@
 package com.mahajan.habittracker.util;
 
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -27,8 +31,13 @@ import java.util.Date;
  */
 @Component
 @Setter
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    static final String EXTRACT_EMAIL_TIMER = "jwt.extract.email";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -43,12 +52,26 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token and returns its subject. Timed per outcome (success, expired, invalid).
+     */
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
-                .parseClaimsJws(token)// ensures token is not tampered and unexpired
-                .getBody()
-                .getSubject();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            String email = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                    .build()
+                    .parseClaimsJws(token)// ensures token is not tampered and unexpired
+                    .getBody()
+                    .getSubject();
+            outcome = "success";
+            return email;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(EXTRACT_EMAIL_TIMER, "outcome", outcome));
+        }
     }
 }
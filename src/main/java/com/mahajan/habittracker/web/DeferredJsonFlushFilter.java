@@ -0,0 +1,123 @@
+package com.mahajan.habittracker.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ignores explicit flushes of {@code application/json} responses (or of the given Jackson-written media
+ * types) until the response completes.
+ *
+ * Jackson flushes the stream after writing a body, which commits the response before its length is known,
+ * and Tomcat compresses every response of unknown length regardless of server.compression.min-response-size.
+ * Without those flushes a body that fits in Tomcat's response buffer is sent with a Content-Length, so the
+ * threshold applies; larger bodies overflow the buffer and are compressed as before. Other content types
+ * (streamed exports, event streams) flush normally.
+ */
+public class DeferredJsonFlushFilter extends OncePerRequestFilter {
+
+    private final List<MediaType> mediaTypes;
+
+    public DeferredJsonFlushFilter() {
+        this(List.of(MediaType.APPLICATION_JSON));
+    }
+
+    public DeferredJsonFlushFilter(List<MediaType> mediaTypes) {
+        this.mediaTypes = List.copyOf(mediaTypes);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredFlushResponse(response, mediaTypes));
+    }
+
+    private static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private final List<MediaType> mediaTypes;
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletResponse response, List<MediaType> mediaTypes) {
+            super(response);
+            this.mediaTypes = mediaTypes;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!isDeferred()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean isDeferred() {
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            MediaType type = MediaType.parseMediaType(contentType);
+            return mediaTypes.stream().anyMatch(deferred -> deferred.isCompatibleWith(type));
+        }
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final DeferredFlushResponse response;
+
+        DeferredFlushOutputStream(ServletOutputStream target, DeferredFlushResponse response) {
+            this.target = target;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!response.isDeferred()) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mahajan.habittracker.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes {@link LocalDate} as its epoch day (days since 1970-01-01) instead of an ISO-8601 string.
+ *
+ * Registered only on the binary (CBOR/Smile) mappers: a date then takes 3 bytes on the wire instead of an
+ * 11-byte string, and clients read it without parsing text. Reading also accepts ISO strings, so requests
+ * written by a client that still sends them keep working.
+ */
+public class EpochDayModule extends SimpleModule {
+
+    public EpochDayModule() {
+        super("EpochDayModule");
+        addSerializer(LocalDate.class, new EpochDaySerializer());
+        addDeserializer(LocalDate.class, new EpochDayDeserializer());
+    }
+
+    private static final class EpochDaySerializer extends StdScalarSerializer<LocalDate> {
+
+        EpochDaySerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toEpochDay());
+        }
+    }
+
+    private static final class EpochDayDeserializer extends StdScalarDeserializer<LocalDate> {
+
+        EpochDayDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return LocalDate.ofEpochDay(parser.getLongValue());
+            }
+            return LocalDateDeserializer.INSTANCE.deserialize(parser, context);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mahajan.habittracker.web;
+
+import com.mahajan.habittracker.config.BinaryFormatConfig;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The encodings a response body can be written in (see {@link BinaryFormatConfig}). The same URL returns
+ * different bytes per representation, so validators and caches have to tell them apart: the code goes into
+ * the ETag, and the response varies by Accept.
+ */
+public enum Representation {
+
+    // Checked in this order, so */* and application/* resolve to JSON like in Spring MVC's negotiation
+    JSON("json", MediaType.APPLICATION_JSON),
+    CBOR("cbor", MediaType.APPLICATION_CBOR),
+    SMILE("smile", BinaryFormatConfig.APPLICATION_SMILE);
+
+    private final String code;
+    private final MediaType mediaType;
+
+    Representation(String code, MediaType mediaType) {
+        this.code = code;
+        this.mediaType = mediaType;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Resolves the representation the request's Accept header asks for (JSON if none or unparseable) and
+     * adds {@code Vary: Accept} to the response, 304s included, so shared caches keep one entry per encoding.
+     */
+    public static Representation negotiate(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(Arrays.asList(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (Representation representation : values()) {
+                if (mediaType.isCompatibleWith(representation.mediaType)) {
+                    return representation;
+                }
+            }
+        }
+        return JSON;
+    }
+}
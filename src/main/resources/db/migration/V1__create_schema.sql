@@ -0,0 +1,27 @@
+-- Baseline schema, matching the tables Hibernate originally created with ddl-auto=update.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE habit (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    user_id     BIGINT NOT NULL,
+    CONSTRAINT fk_habit_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE habit_completion (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    habit_id        BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    completion_date DATE   NOT NULL,
+    CONSTRAINT fk_habit_completion_habit FOREIGN KEY (habit_id) REFERENCES habit (id),
+    CONSTRAINT fk_habit_completion_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT uk_habit_completion_habit_user_date UNIQUE (habit_id, user_id, completion_date)
+);
@@ -0,0 +1,13 @@
+-- Indexes for the repository query shapes not already served by a primary key or unique constraint.
+--
+-- Already covered:
+--   users.findByEmail                                  -> unique (email)
+--   habit.findByIdAndUser                              -> primary key
+--   habit_completion.existsBy/findByHabitAndUserAndCompletionDate,
+--   findAllByHabitAndUserOrderByCompletionDateDesc     -> unique (habit_id, user_id, completion_date)
+
+-- HabitRepository.findByUser, streamExportRowsByUser and the users -> habit foreign key
+CREATE INDEX idx_habit_user_id ON habit (user_id);
+
+-- HabitCompletionRepository.findAllByUserAndCompletionDate and the users -> habit_completion foreign key
+CREATE INDEX idx_habit_completion_user_date ON habit_completion (user_id, completion_date);
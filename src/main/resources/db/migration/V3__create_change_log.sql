@@ -0,0 +1,16 @@
+-- Append-only log of habit and completion changes, read by GET /api/sync?since=<id>.
+-- Rows are written in the same transaction as the change itself (ChangeLogService). There are no foreign
+-- keys: an entry must outlive the habit or completion it describes, so deletions can be synced.
+
+CREATE TABLE change_log (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT                   NOT NULL,
+    entity_type     VARCHAR(16)              NOT NULL,
+    operation       VARCHAR(16)              NOT NULL,
+    habit_id        BIGINT                   NOT NULL,
+    completion_date DATE,
+    changed_at      TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- ChangeLogRepository: a user's entries after a cursor, in id order
+CREATE INDEX idx_change_log_user_id ON change_log (user_id, id);
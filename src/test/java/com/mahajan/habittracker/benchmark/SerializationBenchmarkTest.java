@@ -0,0 +1,142 @@
+package com.mahajan.habittracker.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mahajan.habittracker.config.BinaryFormatConfig;
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
+import com.mahajan.habittracker.dto.HabitResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON vs CBOR vs Smile for the two list payloads the mobile history screens load: a habit list with
+ * streaks and a year of completions for several habits. The mappers are built the way the application
+ * builds them (BinaryFormatConfig.binaryMapper), so dates are epoch days in the binary formats.
+ *
+ * Reports encoded size, gzip size (what goes over the wire above server.compression.min-response-size)
+ * and mean serialize/deserialize time per list. Skipped by {@code ./mvnw test}; run it with
+ * <pre>
+ * ./mvnw -Pbenchmark test -Dbenchmark.iterations=5000
+ * </pre>
+ */
+@Tag("benchmark")
+class SerializationBenchmarkTest {
+
+    private static final int HABITS = 20;
+    private static final int COMPLETION_HABITS = 5;
+    private static final int COMPLETION_DAYS = 365;
+
+    private final int warmup = Integer.getInteger("benchmark.warmup", 1000);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 2000);
+
+    @Test
+    void compareJsonAndBinaryFormats() throws Exception {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("CBOR", BinaryFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory()));
+        mappers.put("Smile", BinaryFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory()));
+
+        Random random = new Random(42);
+        List<HabitResponse> habits = habits(random);
+        List<HabitCompletionResponse> completions = completions(random);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-24s %-6s %9s %9s %12s %12s%n",
+                "Payload", "Format", "Bytes", "Gzipped", "Write us/op", "Read us/op"));
+        for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+            report.append(measure(habits.size() + " habits", format.getKey(), format.getValue(),
+                    habits, new TypeReference<List<HabitResponse>>() {}));
+        }
+        for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+            report.append(measure(completions.size() + " completions", format.getKey(), format.getValue(),
+                    completions, new TypeReference<List<HabitCompletionResponse>>() {}));
+        }
+        report.append(String.format(Locale.ROOT, "%d warmup + %d measured iterations per row%n", warmup, iterations));
+
+        System.out.println(report);
+        Path reportDir = Path.of(System.getProperty("benchmark.report-dir", "target/benchmark"));
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("serialization-report.txt"), report);
+    }
+
+    private <T> String measure(String payload, String format, ObjectMapper mapper,
+                               List<T> values, TypeReference<List<T>> type) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(values);
+        assertThat(mapper.readValue(encoded, type)).isEqualTo(values);
+
+        // Results are folded into a checksum so the JIT cannot drop the work
+        long checksum = 0;
+        for (int i = 0; i < warmup; i++) {
+            checksum += mapper.writeValueAsBytes(values).length + mapper.readValue(encoded, type).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += mapper.writeValueAsBytes(values).length;
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += mapper.readValue(encoded, type).size();
+        }
+        long readNanos = System.nanoTime() - start;
+        assertThat(checksum).isPositive();
+
+        return String.format(Locale.ROOT, "%-24s %-6s %9d %9d %12.1f %12.1f%n", payload, format,
+                encoded.length, gzip(encoded).length,
+                writeNanos / 1000.0 / iterations, readNanos / 1000.0 / iterations);
+    }
+
+    private static List<HabitResponse> habits(Random random) {
+        List<HabitResponse> habits = new ArrayList<>();
+        for (long id = 1; id <= HABITS; id++) {
+            int longest = random.nextInt(200);
+            habits.add(new HabitResponse(id, "Habit " + id, "Description of habit " + id,
+                    random.nextInt(longest + 1), longest));
+        }
+        return habits;
+    }
+
+    /**
+     * A year of history per habit, most days completed, newest first like the completions endpoint.
+     */
+    private static List<HabitCompletionResponse> completions(Random random) {
+        List<HabitCompletionResponse> completions = new ArrayList<>();
+        LocalDate today = LocalDate.of(2025, 12, 31);
+        for (long habitId = 1; habitId <= COMPLETION_HABITS; habitId++) {
+            for (int day = 0; day < COMPLETION_DAYS; day++) {
+                if (random.nextInt(10) < 8) {
+                    completions.add(new HabitCompletionResponse(habitId, "Habit " + habitId,
+                            "Description of habit " + habitId, today.minusDays(day)));
+                }
+            }
+        }
+        return completions;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
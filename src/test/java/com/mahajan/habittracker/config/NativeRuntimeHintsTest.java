@@ -0,0 +1,71 @@
+package com.mahajan.habittracker.config;
+
+import com.mahajan.habittracker.datasource.JdbcTimingSessionListener;
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HabitResponse;
+import com.mahajan.habittracker.exceptions.ErrorResponse;
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.HabitCompletion;
+import com.mahajan.habittracker.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = registerHints();
+
+    private static RuntimeHints registerHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, NativeRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+
+    @Test
+    @DisplayName("Entities are registered for field access and construction")
+    void entitiesAreReflective() throws Exception {
+        for (Class<?> entity : new Class<?>[]{User.class, Habit.class, HabitCompletion.class, ChangeLogEntry.class}) {
+            assertThat(RuntimeHintsPredicates.reflection().onField(entity.getDeclaredField("id"))).accepts(hints);
+            assertThat(RuntimeHintsPredicates.reflection().onConstructor(entity.getDeclaredConstructor())).accepts(hints);
+        }
+    }
+
+    @Test
+    @DisplayName("JPQL projections and JSON types can be constructed and bound")
+    void dtosAreReflective() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(
+                HabitCompletionDay.class.getConstructor(Long.class, LocalDate.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(HabitResponse.class, "getCurrentStreak")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class, "status")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("JJWT implementations, JSR-310 module and cache provider are reachable by name")
+    void classesLoadedByNameAreRegistered() {
+        for (String type : NativeRuntimeHints.JJWT_IMPLEMENTATIONS) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.fasterxml.jackson.datatype.jsr310.JavaTimeModule"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(JdbcTimingSessionListener.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Resources and Connection proxies are registered")
+    void resourcesAndProxiesAreRegistered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+    }
+}
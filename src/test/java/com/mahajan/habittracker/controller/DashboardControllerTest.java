@@ -0,0 +1,80 @@
+package com.mahajan.habittracker.controller;
+
+import com.mahajan.habittracker.dto.DashboardHabitResponse;
+import com.mahajan.habittracker.dto.TodayDashboardResponse;
+import com.mahajan.habittracker.exceptions.UserNotFoundException;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.security.JwtAuthFilter;
+import com.mahajan.habittracker.service.DashboardService;
+import com.mahajan.habittracker.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for {@link DashboardController}.
+ */
+@WebMvcTest(controllers = DashboardController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthFilter.class))
+@AutoConfigureMockMvc(addFilters = false)
+class DashboardControllerTest {
+
+    private static final String USER_EMAIL = "test@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    @DisplayName("GET /api/dashboard/today should return habits with completed flag and streaks")
+    @WithMockUser(username = USER_EMAIL)
+    void testGetToday() throws Exception {
+        User user = User.builder().id(1L).email(USER_EMAIL).build();
+        TodayDashboardResponse response = new TodayDashboardResponse(LocalDate.of(2025, 6, 1), List.of(
+                new DashboardHabitResponse(10L, "Exercise", "Daily workout", true, 3, 7)));
+        Mockito.when(userService.getUserByEmail(USER_EMAIL)).thenReturn(user);
+        Mockito.when(dashboardService.getTodayDashboard(user)).thenReturn(response);
+
+        mockMvc.perform(get("/api/dashboard/today"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value("2025-06-01"))
+                .andExpect(jsonPath("$.habits", hasSize(1)))
+                .andExpect(jsonPath("$.habits[0].id").value(10))
+                .andExpect(jsonPath("$.habits[0].completedToday").value(true))
+                .andExpect(jsonPath("$.habits[0].currentStreak").value(3))
+                .andExpect(jsonPath("$.habits[0].longestStreak").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/today returns 404 when user not found")
+    @WithMockUser(username = USER_EMAIL)
+    void testGetTodayUserNotFound() throws Exception {
+        Mockito.when(userService.getUserByEmail(USER_EMAIL)).thenThrow(new UserNotFoundException(USER_EMAIL));
+
+        mockMvc.perform(get("/api/dashboard/today"))
+                .andExpect(status().isNotFound());
+
+        Mockito.verifyNoInteractions(dashboardService);
+    }
+}
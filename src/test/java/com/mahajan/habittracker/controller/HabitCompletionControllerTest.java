@@ -1,14 +1,18 @@
 package com.mahajan.habittracker.controller;
 
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
+import com.mahajan.habittracker.dto.HabitStatsResponse;
 import com.mahajan.habittracker.exceptions.HabitAlreadyCompletedException;
 import com.mahajan.habittracker.exceptions.HabitCompletionNotFoundException;
 import com.mahajan.habittracker.model.Habit;
-import com.mahajan.habittracker.model.HabitCompletion;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.security.JwtAuthFilter;
 import com.mahajan.habittracker.service.HabitCompletionService;
+import com.mahajan.habittracker.service.DataVersionService;
 import com.mahajan.habittracker.service.HabitService;
+import com.mahajan.habittracker.service.HabitStatsService;
 import com.mahajan.habittracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -22,8 +26,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -47,12 +53,24 @@ class HabitCompletionControllerTest {
     @MockBean
     private HabitService habitService;
 
+    @MockBean
+    private DataVersionService dataVersionService;
+
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private HabitStatsService statsService;
+
     private static final Long HABIT_ID = 10L;
     private static final String USER_EMAIL = "test@example.com";
 
+    @BeforeEach
+    void setUp() {
+        // Runs the loader (or answers 304) around the mocked eTagFor, like the real service
+        Mockito.when(dataVersionService.readIfModified(any(), any(), any(), any())).thenCallRealMethod();
+    }
+
     // ✅ Positive Case: Mark habit completed
     @Test
     @DisplayName("POST /api/habits/{habitId}/completions should mark habit as completed and return 200 OK")
@@ -107,12 +125,16 @@ class HabitCompletionControllerTest {
         Mockito.when(habitService.getHabitByIdForUser(HABIT_ID, mockUser)).thenReturn(mockHabit);
 
 
-        Mockito.when(completionService.getAllCompletionsForHabit(mockHabit, mockUser))
-                .thenReturn(List.of()); // The controller maps entities to DTOs — skip that level for simplicity
+        Mockito.when(completionService.getCompletionResponsesForHabit(mockHabit, mockUser))
+                .thenReturn(List.of(new HabitCompletionResponse(HABIT_ID, "Exercise", "Workout", LocalDate.parse("2025-10-21"))));
 
         mockMvc.perform(get("/api/habits/{habitId}/completions", HABIT_ID)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].habitId").value(HABIT_ID))
+                .andExpect(jsonPath("$[0].habitName").value("Exercise"))
+                .andExpect(jsonPath("$[0].completionDate").value("2025-10-21"));
 
         Mockito.verify(userService).getUserByEmail(USER_EMAIL);
         Mockito.verify(habitService).getHabitByIdForUser(HABIT_ID, mockUser);
@@ -170,22 +192,10 @@ class HabitCompletionControllerTest {
         String date = "2025-12-03";
         LocalDate completionDate = LocalDate.parse(date);
 
-        Habit habit1 = Habit.builder().id(4L).name("Workout").description("Daily exercise").build();
-        Habit habit2 = Habit.builder().id(7L).name("Read").description("Reading books").build();
-
-        HabitCompletion completion1 = HabitCompletion.builder()
-                .id(1L)
-                .habit(habit1)
-                .user(mockUser)
-                .completionDate(completionDate)
-                .build();
-
-        HabitCompletion completion2 = HabitCompletion.builder()
-                .id(2L)
-                .habit(habit2)
-                .user(mockUser)
-                .completionDate(completionDate)
-                .build();
+        HabitCompletionResponse completion1 =
+                new HabitCompletionResponse(4L, "Workout", "Daily exercise", completionDate);
+        HabitCompletionResponse completion2 =
+                new HabitCompletionResponse(7L, "Read", "Reading books", completionDate);
 
         Mockito.when(userService.getUserByEmail(USER_EMAIL)).thenReturn(mockUser);
         Mockito.when(completionService.getCompletionsByDate(mockUser, completionDate))
@@ -216,14 +226,8 @@ class HabitCompletionControllerTest {
         User mockUser = User.builder().id(1L).email(USER_EMAIL).build();
         LocalDate today = LocalDate.now();
 
-        Habit habit1 = Habit.builder().id(4L).name("Workout").description("Daily exercise").build();
-
-        HabitCompletion completion1 = HabitCompletion.builder()
-                .id(1L)
-                .habit(habit1)
-                .user(mockUser)
-                .completionDate(today)
-                .build();
+        HabitCompletionResponse completion1 =
+                new HabitCompletionResponse(4L, "Workout", "Daily exercise", today);
 
         Mockito.when(userService.getUserByEmail(USER_EMAIL)).thenReturn(mockUser);
         Mockito.when(completionService.getCompletionsByDate(mockUser, today))
@@ -265,4 +269,27 @@ class HabitCompletionControllerTest {
         Mockito.verify(userService).getUserByEmail(USER_EMAIL);
         Mockito.verify(completionService).getCompletionsByDate(mockUser, completionDate);
     }
+
+    // ✅ Positive Case: Get stats for habit
+    @Test
+    @DisplayName("GET /api/habits/{habitId}/stats should return rolling completion rates and weekday distribution")
+    @WithMockUser(username = USER_EMAIL)
+    void testGetStatsSuccess() throws Exception {
+        User mockUser = User.builder().id(1L).email(USER_EMAIL).build();
+        Habit mockHabit = Habit.builder().id(HABIT_ID).name("Exercise").build();
+        HabitStatsResponse stats = new HabitStatsResponse(HABIT_ID, LocalDate.parse("2025-06-01"),
+                1.0, 0.5, 0.25, 0.1, Map.of(DayOfWeek.MONDAY, 3));
+
+        Mockito.when(userService.getUserByEmail(USER_EMAIL)).thenReturn(mockUser);
+        Mockito.when(habitService.getHabitByIdForUser(HABIT_ID, mockUser)).thenReturn(mockHabit);
+        Mockito.when(statsService.getStatsForHabit(mockHabit, mockUser)).thenReturn(stats);
+
+        mockMvc.perform(get("/api/habits/{habitId}/stats", HABIT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.habitId").value(HABIT_ID))
+                .andExpect(jsonPath("$.asOf").value("2025-06-01"))
+                .andExpect(jsonPath("$.last7Days").value(1.0))
+                .andExpect(jsonPath("$.last30Days").value(0.5))
+                .andExpect(jsonPath("$.completionsByWeekday.MONDAY").value(3));
+    }
 }
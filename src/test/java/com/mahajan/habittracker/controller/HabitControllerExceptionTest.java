@@ -7,6 +7,7 @@ import com.mahajan.habittracker.exceptions.UserNotFoundException;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.security.JwtAuthFilter;
+import com.mahajan.habittracker.service.DataVersionService;
 import com.mahajan.habittracker.service.HabitService;
 import com.mahajan.habittracker.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +26,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -51,6 +53,9 @@ class HabitControllerExceptionTest {
     @MockBean
     private HabitService habitService;
 
+    @MockBean
+    private DataVersionService dataVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,6 +71,8 @@ class HabitControllerExceptionTest {
         testUser = User.builder().id(TEST_USER_ID).email("test@example.com").build();
 
         when(userService.getUserByEmail("test@example.com")).thenReturn(testUser);
+        // Runs the loader (or answers 304) around the mocked eTagFor, like the real service
+        when(dataVersionService.readIfModified(any(), any(), any(), any())).thenCallRealMethod();
     }
 
     @Test
@@ -125,6 +132,34 @@ class HabitControllerExceptionTest {
         assertUserNotFound(result);
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetHabitsUnknownField() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("fields", "name,color"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown field: color (supported: id, name, description, currentStreak, longestStreak)"));
+
+        verifyNoInteractions(habitService);
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetHeatmapYearOutOfRange() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/heatmap").param("year", "1000000000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Year 1000000000 is out of range (1-9999)"));
+
+        mockMvc.perform(get(BASE_URL + "/heatmap").param("year", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(BASE_URL + "/heatmap").param("year", "99999999999"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(habitService);
+    }
+
     @Test
     void testCreateHabitBodyMissing() throws Exception {
         mockMvc.perform(post(BASE_URL).contentType(MediaType.APPLICATION_JSON)
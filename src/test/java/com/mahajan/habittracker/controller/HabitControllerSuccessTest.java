@@ -1,13 +1,17 @@
 package com.mahajan.habittracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitHeatmapResponse;
 import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.HeatmapResponse;
 import com.mahajan.habittracker.dto.StreakResult;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.security.JwtAuthFilter;
+import com.mahajan.habittracker.service.DataVersionService;
 import com.mahajan.habittracker.service.HabitService;
 import com.mahajan.habittracker.service.UserService;
+import com.mahajan.habittracker.web.Representation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,10 +25,15 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +57,9 @@ class HabitControllerSuccessTest {
     @MockBean
     private HabitService habitService;
 
+    @MockBean
+    private DataVersionService dataVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -63,6 +75,8 @@ class HabitControllerSuccessTest {
         testUser = User.builder().id(1L).email("test@example.com").build();
 
         when(userService.getUserByEmail("test@example.com")).thenReturn(testUser);
+        // Runs the loader (or answers 304) around the mocked eTagFor, like the real service
+        when(dataVersionService.readIfModified(any(), any(), any(), any())).thenCallRealMethod();
     }
 
     private Habit addHabitAndReturn() throws Exception {
@@ -101,18 +115,20 @@ class HabitControllerSuccessTest {
     @WithMockUser(username = "test@example.com")
     void testGetAllHabits() throws Exception {
 
-        Habit habit2 = Habit.builder().name("Meditation").description("Daily meditation").build();
+        Habit habit2 = Habit.builder().id(101L).name("Meditation").description("Daily meditation").build();
 
         when(habitService.getHabitsForUser(any(User.class)))
                 .thenReturn(List.of(testHabit, habit2));
-        when(habitService.calculateStreaksForHabit(any(Habit.class), any(User.class)))
-                .thenReturn(new StreakResult(0, 0));
+        when(habitService.calculateStreaksForHabits(anyList(), any(User.class)))
+                .thenReturn(Map.of(testHabit.getId(), new StreakResult(3, 5), 101L, new StreakResult(0, 0)));
 
         mockMvc.perform(get(BASE_URL))
                 .andExpect(status().isOk())
                 .andExpect((jsonPath("$", hasSize(2))))
                 .andExpect(jsonPath("$[0].name").value("Exercise"))
                 .andExpect(jsonPath("$[0].description").value("Daily workout"))
+                .andExpect(jsonPath("$[0].currentStreak").value(3))
+                .andExpect(jsonPath("$[0].longestStreak").value(5))
                 .andExpect(jsonPath("$[1].name").value("Meditation"))
                 .andExpect(jsonPath("$[1].description").value("Daily meditation"));
     }
@@ -129,6 +145,63 @@ class HabitControllerSuccessTest {
                 .andExpect(jsonPath("description").value("Daily workout"));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetAllHabitsWithoutStreakFieldsSkipsStreaks() throws Exception {
+        when(habitService.getHabitsForUser(any(User.class))).thenReturn(List.of(testHabit));
+
+        mockMvc.perform(get(BASE_URL).param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(100))
+                .andExpect(jsonPath("$[0].name").value("Exercise"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].currentStreak").doesNotExist())
+                .andExpect(jsonPath("$[0].longestStreak").doesNotExist());
+
+        verify(habitService, never()).calculateStreaksForHabits(anyList(), any(User.class));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetHabitByIdWithStreakField() throws Exception {
+        when(habitService.getHabitByIdForUser(any(Long.class), any(User.class))).thenReturn(testHabit);
+        when(habitService.calculateStreaksForHabit(any(Habit.class), any(User.class)))
+                .thenReturn(new StreakResult(2, 7));
+
+        mockMvc.perform(get(BASE_URL_WITH_ID, 100L).param("fields", "name,longestStreak"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Exercise"))
+                .andExpect(jsonPath("$.longestStreak").value(7))
+                .andExpect(jsonPath("$.currentStreak").doesNotExist())
+                .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetHabitByIdWithoutStreakFieldsSkipsStreaks() throws Exception {
+        when(habitService.getHabitByIdForUser(any(Long.class), any(User.class))).thenReturn(testHabit);
+
+        mockMvc.perform(get(BASE_URL_WITH_ID, 100L).param("fields", "id", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(100))
+                .andExpect(jsonPath("$.name").value("Exercise"));
+
+        verify(habitService, never()).calculateStreaksForHabit(any(Habit.class), any(User.class));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetAllHabitsNotModified() throws Exception {
+        when(dataVersionService.eTagFor("test@example.com", Representation.JSON)).thenReturn("\"v1\"");
+
+        mockMvc.perform(get(BASE_URL).header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        verifyNoInteractions(userService, habitService);
+    }
+
     @Test
     @WithMockUser(username = "test@example.com")
     void testDeleteHabit() throws Exception {
@@ -156,4 +229,18 @@ class HabitControllerSuccessTest {
                 .andExpect(jsonPath("$.name").value("Updated Name"))
                 .andExpect(jsonPath("$.description").value("Updated Description"));
     }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void testGetHeatmap() throws Exception {
+        when(habitService.getHeatmapForUser(testUser, 2025))
+                .thenReturn(new HeatmapResponse(2025, List.of(new HabitHeatmapResponse(100L, "AQ=="))));
+
+        mockMvc.perform(get(BASE_URL + "/heatmap").param("year", "2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2025))
+                .andExpect(jsonPath("$.habits", hasSize(1)))
+                .andExpect(jsonPath("$.habits[0].habitId").value(100))
+                .andExpect(jsonPath("$.habits[0].days").value("AQ=="));
+    }
 }
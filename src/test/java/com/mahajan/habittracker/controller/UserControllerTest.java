@@ -3,6 +3,7 @@ package com.mahajan.habittracker.controller;
 import com.mahajan.habittracker.exceptions.UserNotFoundException;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.security.JwtAuthFilter;
+import com.mahajan.habittracker.service.ExportService;
 import com.mahajan.habittracker.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -36,6 +39,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ExportService exportService;
+
     @Test
     @DisplayName("GET /api/users/me should return the authenticated user's details")
     @WithMockUser(username = "test@example.com")
@@ -72,4 +78,32 @@ class UserControllerTest {
 
         Mockito.verify(userService).getUserByEmail("missing@example.com");
     }
+
+    // ❌ Negative Case 2: Unsupported export format
+    @Test
+    @DisplayName("GET /api/users/me/export returns 400 for an unsupported format")
+    @WithMockUser(username = "test@example.com")
+    void testExportInvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/users/me/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unsupported export format: xml")));
+
+        Mockito.verifyNoInteractions(exportService);
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding: gzip is used only when the gzip coding (or *) has a non-zero q-value")
+    void testAcceptsGzip() {
+        assertTrue(UserController.acceptsGzip("gzip"));
+        assertTrue(UserController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(UserController.acceptsGzip("br;q=1.0, *;q=0.1"));
+
+        assertFalse(UserController.acceptsGzip(null));
+        assertFalse(UserController.acceptsGzip("identity"));
+        assertFalse(UserController.acceptsGzip("gzip;q=0"));
+        assertFalse(UserController.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(UserController.acceptsGzip("x-gzip"));
+        assertFalse(UserController.acceptsGzip("*;q=0"));
+        assertFalse(UserController.acceptsGzip("gzip;q=abc"));
+    }
 }
@@ -0,0 +1,99 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.ConnectionPoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptivePoolSizerTest {
+
+    private static final long TARGET_NANOS = Duration.ofMillis(20).toNanos();
+
+    private ConnectionPoolMonitor monitor;
+    private AdaptivePoolSizer sizer;
+    private AdaptivePoolSizer.Window window;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        ConnectionPoolProperties.Adaptive adaptive = properties.getAdaptive();
+        adaptive.setMinSize(2);
+        adaptive.setMaxSize(6);
+        adaptive.setTargetWait(Duration.ofMillis(20));
+        adaptive.setGrowStep(2);
+        adaptive.setQuietIntervalsBeforeShrink(3);
+
+        monitor = new ConnectionPoolMonitor(new SimpleMeterRegistry());
+        sizer = new AdaptivePoolSizer(monitor, properties);
+        window = new AdaptivePoolSizer.Window();
+    }
+
+    @Test
+    void testGrowsWhenWaitExceedsTarget() {
+        assertEquals(5, sizer.nextMaximumPoolSize(3, TARGET_NANOS * 2, 0, false, window));
+    }
+
+    @Test
+    void testGrowsOnPendingThreadsOrTimeouts() {
+        assertEquals(5, sizer.nextMaximumPoolSize(3, 0, 1, false, window));
+        assertEquals(5, sizer.nextMaximumPoolSize(3, 0, 0, true, window));
+    }
+
+    @Test
+    void testNeverGrowsPastMaxSize() {
+        assertEquals(6, sizer.nextMaximumPoolSize(5, TARGET_NANOS * 2, 3, true, window));
+        assertEquals(6, sizer.nextMaximumPoolSize(6, TARGET_NANOS * 2, 3, true, window));
+    }
+
+    @Test
+    void testShrinksByOneAfterQuietIntervals() {
+        assertEquals(5, sizer.nextMaximumPoolSize(5, 0, 0, false, window));
+        assertEquals(5, sizer.nextMaximumPoolSize(5, 0, 0, false, window));
+        assertEquals(4, sizer.nextMaximumPoolSize(5, 0, 0, false, window));
+    }
+
+    @Test
+    void testStarvationResetsQuietIntervals() {
+        sizer.nextMaximumPoolSize(5, 0, 0, false, window);
+        sizer.nextMaximumPoolSize(5, 0, 0, false, window);
+        sizer.nextMaximumPoolSize(4, TARGET_NANOS * 2, 0, false, window);
+
+        assertEquals(4, sizer.nextMaximumPoolSize(4, 0, 0, false, window));
+    }
+
+    @Test
+    void testNeverShrinksBelowMinSize() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, sizer.nextMaximumPoolSize(2, 0, 0, false, window));
+        }
+    }
+
+    @Test
+    void testClampsConfiguredPoolIntoBounds() {
+        assertEquals(6, sizer.nextMaximumPoolSize(10, TARGET_NANOS / 2, 0, false, window));
+    }
+
+    @Test
+    void testResizesRunningHikariPool() throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:pool_sizing;DB_CLOSE_DELAY=-1");
+            dataSource.setPoolName("sizing-pool");
+            dataSource.setMaximumPoolSize(10);
+            monitor.register(dataSource);
+            try (Connection ignored = dataSource.getConnection()) {
+                // starts the pool
+            }
+
+            sizer.adjustAll();
+
+            assertEquals(6, dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+            assertEquals(6, dataSource.getHikariConfigMXBean().getMinimumIdle());
+        }
+    }
+}
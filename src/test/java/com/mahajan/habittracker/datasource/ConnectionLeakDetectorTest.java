@@ -0,0 +1,99 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.ConnectionPoolProperties;
+import com.mahajan.habittracker.dto.ConnectionLeakResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionLeakDetectorTest {
+
+    private ConnectionPoolProperties properties;
+    private ConnectionLeakDetector leakDetector;
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ConnectionPoolProperties();
+        properties.setLeakDetectionThreshold(Duration.ZERO);
+        properties.setLeakReportSize(2);
+        leakDetector = new ConnectionLeakDetector(properties);
+
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReportsLeakWithBorrowingRequestPath() throws Exception {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/habits")));
+
+        Connection borrowed = leakDetector.wrap(target).getConnection();
+        leakDetector.checkForLeaks();
+        leakDetector.checkForLeaks();
+
+        List<ConnectionLeakResponse> leaks = leakDetector.getRecentLeaks();
+        assertEquals(1, leaks.size(), "each held connection is reported once");
+        assertEquals("GET /api/habits", leaks.get(0).getRequestPath());
+        assertEquals(Thread.currentThread().getName(), leaks.get(0).getThread());
+
+        borrowed.close();
+        verify(connection).close();
+        assertEquals(0, leakDetector.getBorrowedCount());
+    }
+
+    @Test
+    void testBorrowOutsideRequestIsLabelled() throws Exception {
+        leakDetector.wrap(target).getConnection();
+        leakDetector.checkForLeaks();
+
+        assertEquals(ConnectionLeakDetector.NO_REQUEST, leakDetector.getRecentLeaks().get(0).getRequestPath());
+    }
+
+    @Test
+    void testClosedConnectionsAreNotReported() throws Exception {
+        properties.setLeakDetectionThreshold(Duration.ofMinutes(1));
+        Connection borrowed = leakDetector.wrap(target).getConnection();
+        assertEquals(1, leakDetector.getBorrowedCount());
+
+        leakDetector.checkForLeaks();
+        borrowed.close();
+
+        assertTrue(leakDetector.getRecentLeaks().isEmpty());
+        assertEquals(0, leakDetector.getBorrowedCount());
+    }
+
+    @Test
+    void testKeepsOnlyMostRecentReports() throws Exception {
+        DataSource dataSource = leakDetector.wrap(target);
+        for (String path : List.of("/api/habits", "/api/habits/1", "/api/habits/2")) {
+            RequestContextHolder.setRequestAttributes(
+                    new ServletRequestAttributes(new MockHttpServletRequest("GET", path)));
+            dataSource.getConnection();
+            leakDetector.checkForLeaks();
+        }
+
+        List<ConnectionLeakResponse> leaks = leakDetector.getRecentLeaks();
+        assertEquals(2, leaks.size());
+        assertEquals("GET /api/habits/2", leaks.get(0).getRequestPath());
+        assertEquals("GET /api/habits/1", leaks.get(1).getRequestPath());
+    }
+}
@@ -0,0 +1,74 @@
+package com.mahajan.habittracker.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTrackerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testWriteIsRememberedOnlyForTheWindow() {
+        tracker.recordWrite("alice@example.com");
+
+        assertTrue(tracker.isWithinWindow("alice@example.com"));
+        assertFalse(tracker.isWithinWindow("bob@example.com"));
+
+        clock.advance(Duration.ofMillis(4999));
+        assertTrue(tracker.isWithinWindow("alice@example.com"));
+
+        clock.advance(Duration.ofMillis(1));
+        assertFalse(tracker.isWithinWindow("alice@example.com"));
+    }
+
+    @Test
+    void testCurrentUserKeyUsesAuthenticatedPrincipal() {
+        assertNull(ReadYourWritesTracker.currentUserKey());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice@example.com", null, List.of(new SimpleGrantedAuthority("USER"))));
+
+        assertEquals("alice@example.com", ReadYourWritesTracker.currentUserKey());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
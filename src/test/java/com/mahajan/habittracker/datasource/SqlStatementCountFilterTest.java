@@ -0,0 +1,83 @@
+package com.mahajan.habittracker.datasource;
+
+import com.mahajan.habittracker.config.SqlStatementProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCountFilterTest {
+
+    private SqlStatementProperties properties;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlStatementProperties();
+        request = new MockHttpServletRequest("GET", "/api/habits/7");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testHeadersCountStatementsRunBeforeTheResponseCommits() throws Exception {
+        properties.setHeaders(true);
+        FilterChain chain = (req, res) -> {
+            SqlStatementRecorder.statementPrepared("select * from users where email=?");
+            SqlStatementRecorder.statementPrepared("select * from habit where id=?");
+            res.getWriter().write("{}");
+            res.flushBuffer();
+            SqlStatementRecorder.statementPrepared("select 1");
+        };
+
+        new SqlStatementCountFilter(properties).doFilter(request, response, chain);
+
+        assertEquals("2", response.getHeader(SqlStatementCountFilter.STATEMENT_COUNT_HEADER));
+        assertNotNull(response.getHeader(SqlStatementCountFilter.JDBC_TIME_HEADER));
+    }
+
+    @Test
+    void testHeadersWrittenWhenResponseNeverCommits() throws Exception {
+        properties.setHeaders(true);
+        FilterChain chain = (req, res) -> SqlStatementRecorder.statementPrepared("select 1");
+
+        new SqlStatementCountFilter(properties).doFilter(request, response, chain);
+
+        assertEquals("1", response.getHeader(SqlStatementCountFilter.STATEMENT_COUNT_HEADER));
+    }
+
+    @Test
+    void testNoHeadersWhenDisabled() throws Exception {
+        FilterChain chain = (req, res) -> SqlStatementRecorder.statementPrepared("select 1");
+
+        new SqlStatementCountFilter(properties).doFilter(request, response, chain);
+
+        assertNull(response.getHeader(SqlStatementCountFilter.STATEMENT_COUNT_HEADER));
+    }
+
+    @Test
+    void testRequestRecordingIsClosedAfterTheRequest() throws Exception {
+        try (SqlStatementRecorder.Recording outer = SqlStatementRecorder.start()) {
+            FilterChain chain = (req, res) -> SqlStatementRecorder.statementPrepared("select 1");
+
+            new SqlStatementCountFilter(properties).doFilter(request, response, chain);
+            SqlStatementRecorder.statementPrepared("select 2");
+
+            assertEquals(2, outer.getStatementCount());
+            assertEquals("select 1", outer.getMostRepeated().orElseThrow().getKey());
+        }
+    }
+
+    @Test
+    void testEndpointUsesMatchedPattern() {
+        assertEquals("GET /api/habits/7", SqlStatementCountFilter.endpointOf(request));
+
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/habits/{habitId}");
+
+        assertEquals("GET /api/habits/{habitId}", SqlStatementCountFilter.endpointOf(request));
+    }
+}
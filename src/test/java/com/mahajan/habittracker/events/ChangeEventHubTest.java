@@ -0,0 +1,190 @@
+package com.mahajan.habittracker.events;
+
+import com.mahajan.habittracker.config.EventStreamProperties;
+import com.mahajan.habittracker.dto.ChangeEvent;
+import com.mahajan.habittracker.model.ChangeLogEntry.EntityType;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The sender never runs here, so queued events stay queued and the tests can count them.
+ */
+class ChangeEventHubTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+
+    private final EventStreamProperties properties = new EventStreamProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChangeEventHub hub;
+
+    @BeforeEach
+    void setup() {
+        properties.setBufferSize(3);
+        properties.setMaxConnectionsPerUser(2);
+        hub = new ChangeEventHub(properties, meterRegistry, task -> { });
+        hub.start();
+    }
+
+    @Test
+    void testSubscribeQueuesReadyEvent() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        assertEquals(1, hub.getConnectionCount());
+        assertEquals(1, hub.queuedEvents(ALICE));
+        assertEquals(1.0, meterRegistry.get(ChangeEventHub.CONNECTIONS_GAUGE).gauge().value());
+    }
+
+    @Test
+    void testPublishReachesOnlyThatUsersStreams() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+        hub.subscribe(BOB, () -> Map.of("cursor", 0L));
+
+        hub.publish(ALICE, change(1L));
+
+        assertEquals(4, hub.queuedEvents(ALICE));
+        assertEquals(1, hub.queuedEvents(BOB));
+    }
+
+    @Test
+    void testPublishAfterCommitWaitsForCommit() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hub.publishAfterCommit(ALICE, change(1L));
+            assertEquals(1, hub.queuedEvents(ALICE));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(2, hub.queuedEvents(ALICE));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRolledBackChangeIsNeverPublished() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hub.publishAfterCommit(ALICE, change(1L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, hub.queuedEvents(ALICE));
+    }
+
+    @Test
+    void testFullBufferClosesTheStream() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+        hub.publish(ALICE, change(1L));
+        hub.publish(ALICE, change(2L));
+
+        hub.publish(ALICE, change(3L));
+
+        assertEquals(0, hub.getConnectionCount());
+        assertEquals(1.0, closedCount(ChangeEventHub.OVERFLOW));
+    }
+
+    @Test
+    void testOldestStreamIsReplacedAboveTheLimit() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+        hub.publish(ALICE, change(1L));
+        hub.subscribe(ALICE, () -> Map.of("cursor", 1L));
+
+        hub.subscribe(ALICE, () -> Map.of("cursor", 1L));
+
+        assertEquals(2, hub.getConnectionCount());
+        assertEquals(2, hub.queuedEvents(ALICE));
+        assertEquals(1.0, closedCount(ChangeEventHub.REPLACED));
+    }
+
+    @Test
+    void testHeartbeatOnlyOnIdleStreams() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        hub.sendHeartbeats();
+        assertEquals(1, hub.queuedEvents(ALICE));
+
+        hub.sendHeartbeats();
+        assertEquals(2, hub.queuedEvents(ALICE));
+    }
+
+    @Test
+    void testStopClosesAllStreamsAndRefusesNewOnes() {
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+        hub.subscribe(BOB, () -> Map.of("cursor", 0L));
+
+        hub.stop();
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        assertFalse(hub.isRunning());
+        assertEquals(0, hub.getConnectionCount());
+        assertEquals(2.0, closedCount(ChangeEventHub.SHUTDOWN));
+    }
+
+    @Test
+    void testSenderPoolDoesNotQueueBehindABlockedSend() throws InterruptedException {
+        ExecutorService pool = ChangeEventHub.senderPool(1, 2);
+        CountDownLatch stalledClients = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(2);
+        Runnable blockedSend = () -> {
+            sending.countDown();
+            try {
+                stalledClients.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            pool.execute(blockedSend);
+            pool.execute(blockedSend);
+            assertTrue(sending.await(1, TimeUnit.SECONDS), "second send must not wait for the first");
+
+            // Both threads are blocked and the pool is at its maximum
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+        } finally {
+            stalledClients.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testStreamIsClosedWhenNoSenderIsFree() {
+        hub = new ChangeEventHub(properties, meterRegistry, task -> {
+            throw new RejectedExecutionException("all sender threads busy");
+        });
+        hub.start();
+
+        hub.subscribe(ALICE, () -> Map.of("cursor", 0L));
+
+        assertEquals(0, hub.getConnectionCount());
+        assertEquals(1.0, closedCount(ChangeEventHub.STALLED));
+    }
+
+    private double closedCount(String reason) {
+        return meterRegistry.get(ChangeEventHub.CLOSED_COUNTER).tag("reason", reason).counter().count();
+    }
+
+    private static ChangeEvent change(Long id) {
+        return new ChangeEvent(id, EntityType.COMPLETION, Operation.UPSERT, 10L, LocalDate.of(2025, 12, 3));
+    }
+}
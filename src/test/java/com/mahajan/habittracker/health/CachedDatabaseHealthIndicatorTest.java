@@ -0,0 +1,105 @@
+package com.mahajan.habittracker.health;
+
+import com.mahajan.habittracker.config.HealthProbeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachedDatabaseHealthIndicatorTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private final MutableClock clock = new MutableClock();
+    private CachedDatabaseHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        indicator = new CachedDatabaseHealthIndicator(dataSource, new HealthProbeProperties(), clock);
+    }
+
+    @Test
+    void testOutOfServiceUntilFirstCheck() {
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void testProbesReadCachedResultWithoutTouchingThePool() throws Exception {
+        indicator.check();
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(Status.UP, indicator.health().getStatus());
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).close();
+    }
+
+    @Test
+    void testFailedCheckReportsDownUntilRecovered() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLTransientConnectionException("pool timed out"));
+        indicator.check();
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertEquals("SQLTransientConnectionException: pool timed out", indicator.health().getDetails().get("error"));
+
+        doReturn(connection).when(dataSource).getConnection();
+        indicator.check();
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    void testInvalidConnectionReportsDown() throws Exception {
+        when(connection.isValid(anyInt())).thenReturn(false);
+        indicator.check();
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void testStaleResultReportsDown() {
+        indicator.check();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertEquals("last database check is stale", indicator.health().getDetails().get("reason"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mahajan.habittracker.config.BinaryFormatConfig;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for the CBOR and Smile encodings of the habit and completion endpoints.
+ * Verifies Accept negotiation, epoch-day dates, binary request bodies and that JSON is unchanged.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class BinaryFormatIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 3);
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private HabitRepository habitRepository;
+    @Autowired private HabitCompletionRepository completionRepository;
+
+    private String token;
+    private Long habitId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        completionRepository.deleteAll();
+        habitRepository.deleteAll();
+        userRepository.deleteAll();
+
+        token = signUpAndLogin();
+        habitId = createHabit("Exercise", "Morning run");
+        markCompleted(DAY);
+        markCompleted(LocalDate.now());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Response Negotiation Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Accept: application/cbor → completions as CBOR with dates as epoch days")
+    void completionsAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode completions = cborMapper.readTree(body);
+        assertThat(completions).hasSize(2);
+        assertThat(completions.get(0).get("habitName").asText()).isEqualTo("Exercise");
+        assertThat(completions.findValues("completionDate"))
+                .allMatch(JsonNode::isIntegralNumber)
+                .extracting(JsonNode::asLong)
+                .containsExactlyInAnyOrder(DAY.toEpochDay(), LocalDate.now().toEpochDay());
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-jackson-smile → habits with streaks as Smile")
+    void habitsAsSmile() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode habits = smileMapper.readTree(body);
+        assertThat(habits).hasSize(1);
+        assertThat(habits.get(0).get("id").asLong()).isEqualTo(habitId);
+        assertThat(habits.get(0).get("currentStreak").asInt()).isEqualTo(1);
+        assertThat(habits.get(0).get("longestStreak").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No Accept header → JSON with ISO dates, larger than the CBOR encoding")
+    void jsonStaysTheDefault() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/habits/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", DAY.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].completionDate").value(DAY.toString()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] cbor = mockMvc.perform(get("/api/habits/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", DAY.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readTree(cbor).get(0).get("completionDate").asLong()).isEqualTo(DAY.toEpochDay());
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("JSON ETag sent with Accept: application/cbor → 200 with CBOR, not 304; both vary by Accept")
+    void eTagIsPerRepresentation() throws Exception {
+        String jsonTag = mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String cborTag = mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", jsonTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(cborTag).isNotEqualTo(jsonTag);
+        mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", cborTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Request Body Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("POST /api/habits with a Smile body → 201 and a Smile response")
+    void createHabitWithSmileBody() throws Exception {
+        HabitRequest req = HabitRequest.builder().name("Read").description("Ten pages").build();
+
+        byte[] body = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(BinaryFormatConfig.APPLICATION_SMILE)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = smileMapper.readTree(body);
+        assertThat(created.get("name").asText()).isEqualTo("Read");
+        assertThat(habitRepository.findById(created.get("id").asLong())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Validation errors are encoded in the negotiated format")
+    void validationErrorAsCbor() throws Exception {
+        HabitRequest req = HabitRequest.builder().name("").description("Blank name").build();
+
+        byte[] body = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(req)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readTree(body).get("status").asInt()).isEqualTo(400);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper Methods
+    // -------------------------------------------------------------------------
+
+    private String signUpAndLogin() throws Exception {
+        signUp();
+        LoginRequest login = LoginRequest.builder()
+                .email("bob@example.com").password("password123").build();
+
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    private void signUp() throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email("bob@example.com").password("password123").build();
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private Long createHabit(String name, String description) throws Exception {
+        HabitRequest req = HabitRequest.builder()
+                .name(name).description(description).build();
+
+        String response = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private void markCompleted(LocalDate date) throws Exception {
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", date.toString()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,187 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.HabitCompletion;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks response compression and HTTP/2 on the embedded Tomcat (MockMvc bypasses both). A year of
+ * completions repeats the habit name and description on every row, so the gzip-encoded list must be a
+ * small fraction of the identity body.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class CompressionIntegrationTest {
+
+    private static final int DAYS_OF_HISTORY = 365;
+
+    @LocalServerPort private int port;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private HabitRepository habitRepository;
+    @Autowired private HabitCompletionRepository completionRepository;
+
+    private final HttpClient http1 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private String token;
+    private Long habitId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        userRepository.deleteAll();
+        token = signUpAndLogin("gzip@example.com");
+
+        HabitRequest habitRequest = HabitRequest.builder()
+                .name("Morning meditation")
+                .description("Ten minutes of breathing before checking the phone, then write one line in the journal")
+                .build();
+        HttpResponse<String> created = http1.send(request("/api/habits")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(habitRequest)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        habitId = objectMapper.readTree(created.body()).get("id").asLong();
+
+        // A year of history straight through the repository: one POST per day would only slow the test down
+        User user = userRepository.findByEmail("gzip@example.com").orElseThrow();
+        Habit habit = habitRepository.findById(habitId).orElseThrow();
+        LocalDate today = LocalDate.now();
+        List<HabitCompletion> completions = IntStream.range(0, DAYS_OF_HISTORY)
+                .mapToObj(day -> HabitCompletion.builder().habit(habit).user(user).completionDate(today.minusDays(day)).build())
+                .toList();
+        completionRepository.saveAll(completions);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Compression Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Year of completions with Accept-Encoding: gzip → gzip body under 10% of the identity size")
+    void largeCompletionHistoryIsCompressed() throws Exception {
+        HttpResponse<byte[]> identity = http1.send(request("/api/habits/" + habitId + "/completions").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzipped = http1.send(request("/api/habits/" + habitId + "/completions")
+                        .header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(identity.statusCode()).isEqualTo(200);
+        assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(objectMapper.readTree(identity.body())).hasSize(DAYS_OF_HISTORY);
+
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).containsIgnoringCase("accept-encoding"));
+        assertThat(gzipped.headers().firstValue("ETag")).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/"));
+        assertThat(gunzip(gzipped.body())).isEqualTo(identity.body());
+        assertThat(gzipped.body().length).isLessThan(identity.body().length / 10);
+    }
+
+    @Test
+    @DisplayName("Response under the 1 KB threshold → sent uncompressed")
+    void smallResponseIsNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = http1.send(request("/api/users/me").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().length).isLessThan(1024);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ETag of a gzip response → If-None-Match still answers 304")
+    void compressedETagStillMatches() throws Exception {
+        HttpResponse<byte[]> gzipped = http1.send(request("/api/habits/" + habitId + "/completions")
+                        .header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        String eTag = gzipped.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> conditional = http1.send(request("/api/habits/" + habitId + "/completions")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", eTag).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(conditional.statusCode()).isEqualTo(304);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 HTTP/2 Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("HTTP/2 client over cleartext → upgraded to h2c and still gzip-encoded")
+    void h2cUpgradeServesCompressedResponses() throws Exception {
+        HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<byte[]> response = http2.send(request("/api/habits/" + habitId + "/completions")
+                        .header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(objectMapper.readTree(gunzip(response.body()))).hasSize(DAYS_OF_HISTORY);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private String signUpAndLogin(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email(email).password("password123").build();
+        HttpResponse<Void> signup = http1.send(request("/api/auth/signup")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(signupRequest)))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(signup.statusCode()).isEqualTo(200);
+
+        LoginRequest login = LoginRequest.builder()
+                .email(email).password("password123").build();
+        HttpResponse<String> response = http1.send(request("/api/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(login)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+}
@@ -0,0 +1,95 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack tests for the connection pool report (ADMIN only).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class ConnectionPoolIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Pool Report Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Admin → GET /api/admin/pool returns pool gauges and acquire figures")
+    void adminSeesPoolReport() throws Exception {
+        String token = signUpAndLogin("admin@example.com");
+
+        mockMvc.perform(get("/api/admin/pool").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pools", hasSize(1)))
+                .andExpect(jsonPath("$.pools[0].poolName").exists())
+                .andExpect(jsonPath("$.pools[0].maximumPoolSize", greaterThan(0)))
+                .andExpect(jsonPath("$.pools[0].acquireCount", greaterThan(0)))
+                .andExpect(jsonPath("$.pools[0].usageCount", greaterThan(0)))
+                .andExpect(jsonPath("$.recentLeaks").isArray());
+    }
+
+    @Test
+    @DisplayName("Regular user → GET /api/admin/pool returns 403")
+    void regularUserIsForbidden() throws Exception {
+        String token = signUpAndLogin("bob@example.com");
+
+        mockMvc.perform(get("/api/admin/pool").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private String signUpAndLogin(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email(email).password("password123").build();
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email(email).password("password123").build();
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+}
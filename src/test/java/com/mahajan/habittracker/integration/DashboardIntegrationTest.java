@@ -0,0 +1,132 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack integration tests for the home screen dashboard endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class DashboardIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private HabitRepository habitRepository;
+    @Autowired private HabitCompletionRepository completionRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setup() throws Exception {
+        completionRepository.deleteAll();
+        habitRepository.deleteAll();
+        userRepository.deleteAll();
+
+        token = signUpAndLogin();
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/today → habits with completed-today flag and streaks")
+    void todayDashboard() throws Exception {
+        LocalDate today = LocalDate.now();
+        Long exerciseId = createHabit("Exercise", "Morning run");
+        Long readingId = createHabit("Reading", "Read 30 mins");
+        markCompleted(exerciseId, today);
+        markCompleted(exerciseId, today.minusDays(1));
+        markCompleted(readingId, today.minusDays(3));
+
+        mockMvc.perform(get("/api/dashboard/today")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value(today.toString()))
+                .andExpect(jsonPath("$.habits", hasSize(2)))
+                .andExpect(jsonPath("$.habits[?(@.id == " + exerciseId + ")].completedToday").value(true))
+                .andExpect(jsonPath("$.habits[?(@.id == " + exerciseId + ")].currentStreak").value(2))
+                .andExpect(jsonPath("$.habits[?(@.id == " + exerciseId + ")].longestStreak").value(2))
+                .andExpect(jsonPath("$.habits[?(@.id == " + readingId + ")].completedToday").value(false))
+                .andExpect(jsonPath("$.habits[?(@.id == " + readingId + ")].currentStreak").value(0))
+                .andExpect(jsonPath("$.habits[?(@.id == " + readingId + ")].longestStreak").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/today without JWT should return 401")
+    void todayDashboardWithoutJwtShouldFail() throws Exception {
+        mockMvc.perform(get("/api/dashboard/today"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods (reused from HabitsIntegrationTest)
+    // -------------------------------------------------------------------------
+
+    private String signUpAndLogin() throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email("carol@example.com").password("password123").build();
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email("carol@example.com").password("password123").build();
+
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    private Long createHabit(String name, String description) throws Exception {
+        HabitRequest req = HabitRequest.builder()
+                .name(name).description(description).build();
+
+        String response = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private void markCompleted(Long habitId, LocalDate date) throws Exception {
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", date.toString()))
+                .andExpect(status().isOk());
+    }
+}
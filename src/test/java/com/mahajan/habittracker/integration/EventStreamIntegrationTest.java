@@ -0,0 +1,261 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-stack tests for GET /api/events on the embedded Tomcat (MockMvc does not stream). Opens real
+ * event streams and checks that writes on one device reach every stream of the same user, and only those.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class EventStreamIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @LocalServerPort private int port;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ChangeLogRepository changeLogRepository;
+
+    private final HttpClient http1 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private String bobToken;
+    private String aliceToken;
+
+    @BeforeAll
+    void setup() throws Exception {
+        userRepository.deleteAll();
+        bobToken = signUpAndLogin("events-bob@example.com");
+        aliceToken = signUpAndLogin("events-alice@example.com");
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Stream Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/events → text/event-stream whose first event is ready with the sync cursor")
+    void streamStartsWithReady() throws Exception {
+        createHabit(bobToken, "Read");
+
+        try (EventStream stream = open(bobToken)) {
+            assertThat(stream.contentType).startsWith("text/event-stream");
+
+            Map<String, String> ready = stream.nextEvent();
+            assertThat(ready).containsEntry("event", "ready").containsKey("retry");
+            assertThat(objectMapper.readTree(ready.get("data")).get("cursor").asLong()).isEqualTo(latestEntryId());
+        }
+    }
+
+    @Test
+    @DisplayName("Completion marked on one device → change event on all of the user's streams, none on another user's")
+    void changeReachesEveryStreamOfTheUser() throws Exception {
+        Long habitId = createHabit(bobToken, "Exercise");
+
+        try (EventStream phone = open(bobToken); EventStream laptop = open(bobToken); EventStream alice = open(aliceToken)) {
+            phone.nextEvent();
+            laptop.nextEvent();
+            alice.nextEvent();
+
+            markCompleted(bobToken, habitId, LocalDate.now());
+
+            for (EventStream stream : new EventStream[]{phone, laptop}) {
+                Map<String, String> change = stream.nextEvent();
+                assertThat(change).containsEntry("event", "change").containsEntry("id", String.valueOf(latestEntryId()));
+                JsonNode data = objectMapper.readTree(change.get("data"));
+                assertThat(data.get("entityType").asText()).isEqualTo("COMPLETION");
+                assertThat(data.get("operation").asText()).isEqualTo("UPSERT");
+                assertThat(data.get("habitId").asLong()).isEqualTo(habitId);
+                assertThat(data.get("completionDate").asText()).isEqualTo(LocalDate.now().toString());
+            }
+            assertThat(alice.nextEvent(Duration.ofMillis(500))).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("A rejected write (409) pushes nothing")
+    void rejectedWriteIsNotPublished() throws Exception {
+        Long habitId = createHabit(bobToken, "Stretch");
+        LocalDate day = LocalDate.now().minusDays(3);
+        markCompleted(bobToken, habitId, day);
+
+        try (EventStream stream = open(bobToken)) {
+            stream.nextEvent();
+
+            HttpResponse<String> conflict = http1.send(request("/api/habits/" + habitId + "/completions?date=" + day, bobToken)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(conflict.statusCode()).isEqualTo(409);
+            assertThat(stream.nextEvent(Duration.ofMillis(500))).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Idle stream → heartbeat comment lines")
+    void idleStreamGetsHeartbeats() throws Exception {
+        try (EventStream stream = open(bobToken)) {
+            stream.nextEvent();
+
+            assertThat(stream.nextComment()).isEqualTo(":heartbeat");
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events without JWT should return 401 Unauthorized")
+    void eventsWithoutJwtShouldFail() throws Exception {
+        HttpResponse<String> response = http1.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events"))
+                .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(401);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper Methods
+    // -------------------------------------------------------------------------
+
+    private EventStream open(String token) throws Exception {
+        HttpResponse<Stream<String>> response = http1.send(request("/api/events", token)
+                .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new EventStream(response);
+    }
+
+    /**
+     * Reads the stream's lines on a background thread; the test takes them with a timeout.
+     */
+    private static final class EventStream implements AutoCloseable {
+
+        private final String contentType;
+        private final Stream<String> body;
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        EventStream(HttpResponse<Stream<String>> response) {
+            this.contentType = response.headers().firstValue("Content-Type").orElse("");
+            this.body = response.body();
+            Thread reader = new Thread(() -> {
+                try {
+                    body.forEach(lines::add);
+                } catch (RuntimeException e) {
+                    // closed by the test
+                }
+            }, "event-stream-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        Map<String, String> nextEvent() throws InterruptedException {
+            Map<String, String> event = nextEvent(TIMEOUT);
+            assertThat(event).as("event within %s", TIMEOUT).isNotNull();
+            return event;
+        }
+
+        /**
+         * Next event as field → value, skipping comment lines, or null when none arrives in time.
+         */
+        Map<String, String> nextEvent(Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            Map<String, String> fields = new HashMap<>();
+            while (true) {
+                String line = lines.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (line == null) {
+                    return null;
+                }
+                if (line.isEmpty()) {
+                    if (!fields.isEmpty()) {
+                        return fields;
+                    }
+                } else if (!line.startsWith(":")) {
+                    int colon = line.indexOf(':');
+                    fields.put(line.substring(0, colon), line.substring(colon + 1));
+                }
+            }
+        }
+
+        String nextComment() throws InterruptedException {
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            String line;
+            do {
+                line = lines.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } while (line != null && !line.startsWith(":"));
+            return line;
+        }
+
+        @Override
+        public void close() {
+            body.close();
+        }
+    }
+
+    private long latestEntryId() {
+        Long userId = userRepository.findByEmail("events-bob@example.com").orElseThrow().getId();
+        return changeLogRepository.findLatestIdByUserId(userId);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private void markCompleted(String token, Long habitId, LocalDate date) throws Exception {
+        HttpResponse<String> response = http1.send(request("/api/habits/" + habitId + "/completions?date=" + date, token)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    private Long createHabit(String token, String name) throws Exception {
+        HabitRequest habitRequest = HabitRequest.builder().name(name).description("Pushed to every device").build();
+        HttpResponse<String> response = http1.send(request("/api/habits", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(habitRequest)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private String signUpAndLogin(String email) throws Exception {
+        signUp(email);
+        LoginRequest login = LoginRequest.builder().email(email).password("password123").build();
+        HttpResponse<String> response = http1.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(login)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void signUp(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder().email(email).password("password123").build();
+        http1.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(signupRequest)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
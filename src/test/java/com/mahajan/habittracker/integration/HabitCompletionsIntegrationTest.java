@@ -229,6 +229,41 @@ class HabitCompletionsIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // -------------------------------------------------------------------------
+    // 🔹 Stats Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/habits/{id}/stats reflects completions marked and unmarked after a cached read")
+    void statsAreInvalidatedByCompletionWrites() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        mockMvc.perform(get("/api/habits/{id}/stats", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last7Days").value(0.0));
+
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/habits/{id}/stats", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf").value(today.toString()))
+                .andExpect(jsonPath("$.last7Days").value(1 / 7.0))
+                .andExpect(jsonPath("$.completionsByWeekday." + today.getDayOfWeek()).value(1));
+
+        mockMvc.perform(delete("/api/habits/{id}/completions/{date}", habitId, today)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/habits/{id}/stats", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last7Days").value(0.0));
+    }
+
     // -------------------------------------------------------------------------
     // 🔹 Helper methods (reused from HabitsIntegrationTest)
     // -------------------------------------------------------------------------
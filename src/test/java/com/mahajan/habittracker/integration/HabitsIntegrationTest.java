@@ -2,16 +2,20 @@ package com.mahajan.habittracker.integration;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.datasource.SqlStatementCountFilter;
 import com.mahajan.habittracker.dto.HabitRequest;
 import com.mahajan.habittracker.dto.LoginRequest;
 import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.model.ChangeLogEntry;
 import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
 import com.mahajan.habittracker.repository.HabitRepository;
 import com.mahajan.habittracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,11 +23,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +49,10 @@ class HabitsIntegrationTest {
     @Autowired private ObjectMapper objectMapper;
     @Autowired private UserRepository userRepository;
     @Autowired private HabitRepository habitRepository;
+    @Autowired private ChangeLogRepository changeLogRepository;
+
+    @RegisterExtension
+    final SqlStatementCountExtension sql = new SqlStatementCountExtension();
 
     private String token; // Reusable JWT for tests
 
@@ -157,6 +169,174 @@ class HabitsIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Mark completions → Heatmap returns one 366-day bitmap per habit")
+    void heatmapForYear() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+        createHabit("Reading", "Read 30 mins");
+        for (String date : List.of("2024-01-01", "2024-12-31", "2025-01-01")) {
+            mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                            .header("Authorization", "Bearer " + token)
+                            .param("date", date))
+                    .andExpect(status().isOk());
+        }
+
+        String response = mockMvc.perform(get("/api/habits/heatmap")
+                        .header("Authorization", "Bearer " + token)
+                        .param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2024))
+                .andExpect(jsonPath("$.habits", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode habits = objectMapper.readTree(response).get("habits");
+        JsonNode exercise = habits.get(0).get("habitId").asLong() == habitId ? habits.get(0) : habits.get(1);
+        byte[] bitmap = Base64.getDecoder().decode(exercise.get("days").asText());
+        assertThat(bitmap).hasSize(46);
+        assertThat(bitmap[0]).isEqualTo((byte) 0b0000_0001);  // 2024-01-01
+        assertThat(bitmap[45]).isEqualTo((byte) 0b0010_0000); // 2024-12-31, day 366
+        for (int i = 1; i < 45; i++) {
+            assertThat(bitmap[i]).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Conditional GET → 304 until a habit or completion write bumps the version")
+    void conditionalGetWithETag() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+
+        String eTag = mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/habits/{id}", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String newETag = mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentStreak").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(get("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Write committed through another instance → conditional GET returns 200, not a stale 304")
+    void eTagFollowsWritesFromOtherInstances() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+        String eTag = mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Another instance's write leaves nothing in this one's memory, only its change log entry
+        Long userId = userRepository.findByEmail("alice@example.com").orElseThrow().getId();
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .userId(userId)
+                .entityType(ChangeLogEntry.EntityType.HABIT)
+                .operation(ChangeLogEntry.Operation.UPSERT)
+                .habitId(habitId)
+                .changedAt(Instant.now())
+                .build());
+
+        mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/habits → statement count does not grow with the number of habits")
+    void getHabitsStatementCountIsConstant() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        sql.reset();
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementCountFilter.STATEMENT_COUNT_HEADER))
+                .andExpect(header().exists(SqlStatementCountFilter.JDBC_TIME_HEADER));
+        int withOneHabit = sql.getStatementCount();
+
+        for (String name : List.of("Reading", "Meditation", "Journaling")) {
+            Long id = createHabit(name, name);
+            mockMvc.perform(post("/api/habits/{id}/completions", id)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        sql.reset();
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)));
+        sql.assertStatementCount(withOneHabit);
+    }
+
+    @Test
+    @DisplayName("GET /api/habits?fields=id,name → only those fields, and no completion query")
+    void sparseFieldsetSkipsStreaks() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        sql.reset();
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentStreak").value(1));
+        int withStreaks = sql.getStatementCount();
+
+        sql.reset();
+        mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(habitId))
+                .andExpect(jsonPath("$[0].name").value("Exercise"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].currentStreak").doesNotExist());
+        sql.assertStatementCount(withStreaks - 1);
+
+        mockMvc.perform(get("/api/habits/{id}", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("fields", "name,longestStreak"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Exercise"))
+                .andExpect(jsonPath("$.longestStreak").value(1))
+                .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/habits?fields= with an unknown field → 400")
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .param("fields", "id,streak"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown field: streak (supported: id, name, description, currentStreak, longestStreak)"));
+    }
+
     // -------------------------------------------------------------------------
     // 🔹 Helper methods
     // -------------------------------------------------------------------------
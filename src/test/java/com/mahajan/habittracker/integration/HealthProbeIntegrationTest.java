@@ -0,0 +1,130 @@
+package com.mahajan.habittracker.integration;
+
+import com.mahajan.habittracker.health.CachedDatabaseHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack tests for the liveness and readiness probes on the application port.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class HealthProbeIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private FilterChainProxy securityFilterChain;
+    @Autowired private CachedDatabaseHealthIndicator databaseHealth;
+    @Autowired private ServletContext servletContext;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setup() {
+        databaseHealth.check();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Probe Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /livez → 200 UP without details")
+    void livenessIsUp() throws Exception {
+        mockMvc.perform(get("/livez"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /readyz → 200 UP once the database check has passed")
+    void readinessIsUp() throws Exception {
+        mockMvc.perform(get("/readyz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Filter Bypass Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Probes match no security filters, while API paths do")
+    void probesBypassSecurityChain() {
+        assertThat(securityFiltersFor("/livez")).isEmpty();
+        assertThat(securityFiltersFor("/readyz")).isEmpty();
+        assertThat(securityFiltersFor("/api/habits")).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Probe with a bad token → 200 and none of the headers the security chain writes")
+    void probesSkipSecurityFilters() throws Exception {
+        mockMvc.perform(get("/readyz")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Content-Type-Options"))
+                .andExpect(header().doesNotExist("X-Frame-Options"));
+
+        mockMvc.perform(get("/api/habits"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("X-Frame-Options"));
+    }
+
+    @Test
+    @DisplayName("Probes are not observed → no http.server.requests timers for them")
+    void probesAreNotObserved() throws Exception {
+        mockMvc.perform(get("/livez")).andExpect(status().isOk());
+        mockMvc.perform(get("/readyz")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/habits")).andExpect(status().isUnauthorized());
+
+        assertThat(meterRegistry.find("http.server.requests").timers())
+                .isNotEmpty()
+                .allSatisfy(timer -> assertThat(timer.getId().getTag("uri")).doesNotContain("livez", "readyz"));
+    }
+
+    @Test
+    @DisplayName("The database check does not share a single scheduler thread with the other background tasks")
+    void schedulerHasAThreadPerBackgroundTask() {
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isGreaterThanOrEqualTo(4);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private List<Filter> securityFiltersFor(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", path);
+        request.setServletPath(path);
+        return securityFilterChain.getFilterChains().stream()
+                .filter(chain -> chain.matches(request))
+                .findFirst()
+                .map(SecurityFilterChain::getFilters)
+                .orElse(List.of());
+    }
+}
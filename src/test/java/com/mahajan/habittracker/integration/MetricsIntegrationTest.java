@@ -0,0 +1,124 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack tests for the Actuator endpoints and the Prometheus scrape output.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Actuator Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /actuator/health is public and UP")
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/metrics → 401 anonymous, 403 for a user, 200 for an admin")
+    void otherEndpointsRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + signUpAndLogin("dave@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + signUpAndLogin("admin@example.com")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Login, habit reads and a 404 → custom timers and counters appear in the scrape")
+    void prometheusScrapeContainsCustomMeters() throws Exception {
+        String token = signUpAndLogin("carol@example.com");
+
+        HabitRequest habitReq = HabitRequest.builder().name("Exercise").description("Morning run").build();
+        mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(habitReq)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/habits/{id}", 999999L).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("hikaricp_connections")
+                .contains("habit_streaks_calculation_seconds_count{application=\"habit-tracker\",history=\"0\"")
+                .contains("jwt_extract_email_seconds_count{application=\"habit-tracker\",outcome=\"success\"")
+                .contains("auth_password_verify_seconds_count{application=\"habit-tracker\",outcome=\"match\"")
+                .contains("app_exceptions_total{application=\"habit-tracker\",exception=\"HabitNotFoundException\",status=\"404\"")
+                .contains("logging_events_suppressed_total{application=\"habit-tracker\",category=\"com.mahajan.habittracker.controller\"")
+                .contains("logging_async_queue_remaining");
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private String signUpAndLogin(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email(email).password("password123").build();
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email(email).password("password123").build();
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+}
@@ -0,0 +1,171 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Smoke test for the native image: one pass through every integration flow against H2, touching
+ * the entities, JWT signing and parsing, the Lombok DTOs and LocalDate (JSR-310) serialization.
+ * Runs on the JVM with the regular suite and as a native executable with ./mvnw -PnativeTest test.
+ * Uses no mocks, since Mockito cannot run inside a native image.
+ */
+@Tag("native")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class NativeSmokeIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setup() throws Exception {
+        userRepository.deleteAll();
+        token = signUpAndLogin();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Smoke Flow
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Habit lifecycle: create → list → complete → dashboard/heatmap/stats → update → delete")
+    void habitLifecycle() throws Exception {
+        String today = LocalDate.now().toString();
+        Long habitId = createHabit("Exercise", "Morning run");
+
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].currentStreak").value(0));
+
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", today))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/habits/{id}", habitId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Exercise"))
+                .andExpect(jsonPath("$.currentStreak").value(1));
+
+        mockMvc.perform(get("/api/habits/{id}/completions", habitId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].completionDate").value(today));
+
+        mockMvc.perform(get("/api/habits/completions").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/api/dashboard/today").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value(today))
+                .andExpect(jsonPath("$.habits[0].completedToday").value(true));
+
+        mockMvc.perform(get("/api/habits/heatmap").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/habits/{id}/stats", habitId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf").value(today));
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("alice@example.com"));
+
+        HabitRequest update = HabitRequest.builder().name("Swimming").description("Evening laps").build();
+        mockMvc.perform(put("/api/habits/{id}", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Swimming"));
+
+        mockMvc.perform(delete("/api/habits/{id}/completions/{date}", habitId, today)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete("/api/habits/{id}", habitId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Errors: unknown habit → ErrorResponse 404, no JWT → 401")
+    void errorResponses() throws Exception {
+        mockMvc.perform(get("/api/habits/{id}", 999_999L).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.path").value("/api/habits/999999"))
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        mockMvc.perform(get("/api/habits"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private String signUpAndLogin() throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email("alice@example.com").password("password123").build();
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email("alice@example.com").password("password123").build();
+
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    private Long createHabit(String name, String description) throws Exception {
+        HabitRequest req = HabitRequest.builder()
+                .name(name).description(description).build();
+
+        String response = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,155 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack tests for continuous JFR profiling: the admin dump endpoint and the automatic dump after a
+ * slow request (the threshold is 0 ms here, so every request counts as slow).
+ */
+@SpringBootTest(properties = {
+        "app.profiling.enabled=true",
+        "app.profiling.slow-request-threshold=0ms"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class ProfilingIntegrationTest {
+
+    private static final Path DUMP_DIRECTORY = createDumpDirectory();
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void profilingProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.profiling.dump-directory", DUMP_DIRECTORY::toString);
+    }
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Dump Endpoint Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Admin → POST /api/admin/profiling/dump writes a JFR file with the JWT verification events")
+    void adminDumpsRecording() throws Exception {
+        String token = signUpAndLogin("admin@example.com");
+
+        String response = mockMvc.perform(post("/api/admin/profiling/dump")
+                        .param("minutes", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reason").value("manual"))
+                .andExpect(jsonPath("$.windowSeconds").value(60))
+                .andReturn().getResponse().getContentAsString();
+
+        Path file = Path.of(objectMapper.readTree(response).get("file").asText());
+        assertThat(file).startsWith(DUMP_DIRECTORY).exists();
+        assertThat(RecordingFile.readAllEvents(file)).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("habittracker.JwtVerification");
+            assertThat(event.getString("outcome")).isEqualTo("authenticated");
+        });
+    }
+
+    @Test
+    @DisplayName("Regular user → POST /api/admin/profiling/dump returns 403")
+    void regularUserIsForbidden() throws Exception {
+        String token = signUpAndLogin("bob@example.com");
+
+        mockMvc.perform(post("/api/admin/profiling/dump").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Automatic Dump Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Request over the slow-request threshold → recording is dumped automatically")
+    void slowRequestTriggersDump() throws Exception {
+        String token = signUpAndLogin("carol@example.com");
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (slowRequestDumps().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(slowRequestDumps()).hasSize(1);
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private List<Path> slowRequestDumps() throws IOException {
+        try (Stream<Path> files = Files.list(DUMP_DIRECTORY)) {
+            return files.filter(path -> path.getFileName().toString().endsWith("-slow-request.jfr")).toList();
+        }
+    }
+
+    private static Path createDumpDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("jfr-dumps");
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String signUpAndLogin(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email(email).password("password123").build();
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email(email).password("password123").build();
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+}
@@ -0,0 +1,165 @@
+package com.mahajan.habittracker.integration;
+
+import com.mahajan.habittracker.service.UserService;
+import com.mahajan.habittracker.util.JwtUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies read-replica routing with two separate H2 databases standing in for the primary and the replica.
+ * The databases do not replicate, so which one answered a query shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.read-your-writes-window=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String DATABASE_NAME_SQL = "select database()";
+    private static final String INSERT_HABIT_SQL =
+            "insert into habit (id, name, description, user_id) values (?, ?, 'Replicated', ?)";
+    private static final String INSERT_CHANGE_SQL = "insert into change_log (id, user_id, entity_type, operation, habit_id, changed_at)"
+            + " values (?, ?, 'HABIT', 'UPSERT', ?, current_timestamp)";
+
+    @Autowired private DataSource dataSource;
+    @Autowired @Qualifier("replicaDataSource") private DataSource replicaDataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserService userService;
+    @Autowired @Qualifier("primaryDataSource") private DataSource primaryDataSource;
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtUtil jwtUtil;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void migrateReplica() {
+        // A real replica gets its schema from the primary; here it is migrated separately
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica, read-write transactions to the primary")
+    void routesByTransactionReadOnlyFlag() {
+        authenticateAs("reader@example.com");
+
+        assertThat(databaseInTransaction(true)).isEqualToIgnoringCase("routing_replica");
+        assertThat(databaseInTransaction(false)).isEqualToIgnoringCase("routing_primary");
+    }
+
+    @Test
+    @DisplayName("Work outside a transaction goes to the primary")
+    void nonTransactionalWorkUsesPrimary() {
+        assertThat(jdbcTemplate.queryForObject(DATABASE_NAME_SQL, String.class))
+                .isEqualToIgnoringCase("routing_primary");
+    }
+
+    @Test
+    @DisplayName("After a write, that user's reads stay on the primary; other users still read from the replica")
+    void readYourWritesWindowIsPerUser() {
+        authenticateAs("writer@example.com");
+        databaseInTransaction(false);
+
+        assertThat(databaseInTransaction(true)).isEqualToIgnoringCase("routing_primary");
+
+        authenticateAs("someone-else@example.com");
+        assertThat(databaseInTransaction(true)).isEqualToIgnoringCase("routing_replica");
+    }
+
+    @Test
+    @DisplayName("Without an authenticated user, reads go to the primary and writes open no window")
+    void anonymousWorkUsesPrimaryAndIsNotTracked() {
+        assertThat(databaseInTransaction(false)).isEqualToIgnoringCase("routing_primary");
+        assertThat(databaseInTransaction(true)).isEqualToIgnoringCase("routing_primary");
+
+        authenticateAs("after-anonymous@example.com");
+        assertThat(databaseInTransaction(true)).isEqualToIgnoringCase("routing_replica");
+    }
+
+    @Test
+    @DisplayName("Read-only service methods are served by the replica")
+    void repositoryReadsUseReplica() {
+        authenticateAs("repository-reader@example.com");
+        new JdbcTemplate(replicaDataSource).update(
+                "insert into users (email, password) values ('only-on-replica@example.com', 'x')");
+
+        assertThat(userService.getUserByEmail("only-on-replica@example.com").getEmail())
+                .isEqualTo("only-on-replica@example.com");
+    }
+
+    @Test
+    @DisplayName("Replica behind the primary → the ETag carries the replica's version, so the poll after it catches up gets 200")
+    void eTagMatchesTheLaggingReplicasBody() throws Exception {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("insert into users (id, email, password) values (9001, 'lagging@example.com', 'x')");
+            database.update(INSERT_HABIT_SQL, 9001L, "Read", 9001L);
+            database.update(INSERT_CHANGE_SQL, 9001L, 9001L, 9001L);
+        }
+        // Written through another instance; the replica has not applied it yet
+        primary.update(INSERT_HABIT_SQL, 9002L, "Write", 9001L);
+        primary.update(INSERT_CHANGE_SQL, 9002L, 9001L, 9002L);
+        String authorization = "Bearer " + jwtUtil.generateToken("lagging@example.com");
+
+        String eTag = mockMvc.perform(get("/api/habits").header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("ETag", startsWith("W/\"9001-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        replica.update(INSERT_HABIT_SQL, 9002L, "Write", 9001L);
+        replica.update(INSERT_CHANGE_SQL, 9002L, 9001L, 9002L);
+
+        mockMvc.perform(get("/api/habits").header("Authorization", authorization).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private String databaseInTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(DATABASE_NAME_SQL, String.class));
+    }
+
+    private void authenticateAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("USER"))));
+    }
+}
@@ -0,0 +1,74 @@
+package com.mahajan.habittracker.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the Flyway migrations produce an index for every repository query shape.
+ * Indexes are compared by their ordered column lists, so the check does not depend on
+ * the names Hibernate or the database gave to constraint-backed indexes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexesIntegrationTest {
+
+    @Autowired private DataSource dataSource;
+
+    @Test
+    @DisplayName("users: email lookup is indexed")
+    void usersIndexes() throws Exception {
+        assertThat(indexColumns("users")).contains(List.of("email"));
+    }
+
+    @Test
+    @DisplayName("habit: listing by user is indexed")
+    void habitIndexes() throws Exception {
+        assertThat(indexColumns("habit")).contains(List.of("user_id"));
+    }
+
+    @Test
+    @DisplayName("habit_completion: per-habit history and per-user date lookups are indexed")
+    void habitCompletionIndexes() throws Exception {
+        assertThat(indexColumns("habit_completion")).contains(
+                List.of("habit_id", "user_id", "completion_date"),
+                List.of("user_id", "completion_date"));
+    }
+
+    /**
+     * Returns the ordered column list of every index on the given table.
+     */
+    private List<List<String>> indexColumns(String table) throws Exception {
+        Map<String, Map<Short, String>> byIndex = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    byIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                }
+            }
+        }
+        List<List<String>> result = new ArrayList<>();
+        byIndex.values().forEach(columns -> result.add(new ArrayList<>(columns.values())));
+        return result;
+    }
+}
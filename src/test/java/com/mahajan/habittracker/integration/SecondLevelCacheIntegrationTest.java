@@ -0,0 +1,103 @@
+package com.mahajan.habittracker.integration;
+
+import com.mahajan.habittracker.exceptions.HabitNotFoundException;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import com.mahajan.habittracker.service.HabitService;
+import com.mahajan.habittracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies the second-level and query caches for User and Habit: repeated lookups are served
+ * without SQL, and updates/deletes through HabitService are never answered from stale entries.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired private UserService userService;
+    @Autowired private HabitService habitService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private HabitRepository habitRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Habit habit;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder().email("dave@example.com").password("encoded-password").build());
+        habit = habitService.createHabitForUser(Habit.builder().name("Exercise").description("Morning run").build(), user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterAll
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Repeated findByEmail and findByIdAndUser are served from the caches")
+    void repeatedLookupsHitTheCache() {
+        User loaded = userService.getUserByEmail("dave@example.com");
+        habitService.getHabitByIdForUser(habit.getId(), loaded);
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        User again = userService.getUserByEmail("dave@example.com");
+        Habit cached = habitService.getHabitByIdForUser(habit.getId(), again);
+
+        assertThat(cached.getName()).isEqualTo("Exercise");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+        assertThat(entityManagerFactory.getCache().contains(Habit.class, habit.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Update through HabitService → next ownership check sees the new values")
+    void updateRefreshesCachedHabit() {
+        habitService.getHabitByIdForUser(habit.getId(), user);
+
+        Habit updates = Habit.builder().id(habit.getId()).name("Swimming").description("Evening laps").build();
+        habitService.updateHabitForUser(updates, user);
+
+        Habit reloaded = habitService.getHabitByIdForUser(habit.getId(), user);
+        assertThat(reloaded.getName()).isEqualTo("Swimming");
+        assertThat(reloaded.getDescription()).isEqualTo("Evening laps");
+    }
+
+    @Test
+    @DisplayName("Delete through HabitService → cached habit and query result are gone")
+    void deleteEvictsCachedHabit() {
+        habitService.getHabitByIdForUser(habit.getId(), user);
+        assertThat(entityManagerFactory.getCache().contains(Habit.class, habit.getId())).isTrue();
+
+        habitService.deleteHabitForUser(habit.getId(), user);
+
+        // READ_WRITE regions keep a soft-lock entry for removed ids, so check lookups rather than Cache.contains
+        assertThat(habitRepository.findById(habit.getId())).isEmpty();
+        assertThatThrownBy(() -> habitService.getHabitByIdForUser(habit.getId(), user))
+                .isInstanceOf(HabitNotFoundException.class);
+    }
+}
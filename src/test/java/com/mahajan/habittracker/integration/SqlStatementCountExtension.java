@@ -0,0 +1,60 @@
+package com.mahajan.habittracker.integration;
+
+import com.mahajan.habittracker.datasource.SqlStatementRecorder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL statements Hibernate prepares on the test thread, for asserting statement counts.
+ * MockMvc requests run on the test thread, so they are included.
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * final SqlStatementCountExtension sql = new SqlStatementCountExtension();
+ *
+ * sql.reset();
+ * mockMvc.perform(get("/api/habits")...);
+ * sql.assertStatementCount(3);
+ * </pre>
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private SqlStatementRecorder.Recording recording;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        recording = SqlStatementRecorder.start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        recording.close();
+        recording = null;
+    }
+
+    /**
+     * Forgets everything recorded so far, typically after the test's setup requests.
+     */
+    public void reset() {
+        recording.reset();
+    }
+
+    public int getStatementCount() {
+        return recording.getStatementCount();
+    }
+
+    public void assertStatementCount(int expected) {
+        assertThat(recording.getStatementCount()).as(describe()).isEqualTo(expected);
+    }
+
+    public void assertAtMost(int max) {
+        assertThat(recording.getStatementCount()).as(describe()).isLessThanOrEqualTo(max);
+    }
+
+    private String describe() {
+        return "SQL statements:\n  " + String.join("\n  ", recording.getStatements());
+    }
+}
@@ -0,0 +1,323 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.model.ChangeLogEntry;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for GET /api/sync.
+ * Verifies the snapshot, deltas after a cursor, deletions, paging and that the change log is transactional.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class SyncIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 3);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private HabitRepository habitRepository;
+    @Autowired private HabitCompletionRepository completionRepository;
+    @Autowired private ChangeLogRepository changeLogRepository;
+
+    private String token;
+    private Long habitId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        changeLogRepository.deleteAll();
+        completionRepository.deleteAll();
+        habitRepository.deleteAll();
+        userRepository.deleteAll();
+
+        token = signUpAndLogin("bob@example.com");
+        habitId = createHabit(token, "Exercise", "Morning run");
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Snapshot Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/sync without since → full snapshot with the latest cursor")
+    void snapshotWithoutCursor() throws Exception {
+        markCompleted(habitId, LocalDate.now());
+
+        JsonNode sync = sync(null);
+
+        assertThat(sync.get("full").asBoolean()).isTrue();
+        assertThat(sync.get("hasMore").asBoolean()).isFalse();
+        assertThat(sync.get("cursor").asLong()).isEqualTo(latestEntryId());
+        assertThat(sync.get("habits")).hasSize(1);
+        assertThat(sync.get("habits").get(0).get("name").asText()).isEqualTo("Exercise");
+        assertThat(sync.get("habits").get(0).get("currentStreak").asInt()).isEqualTo(1);
+        assertThat(sync.get("completions")).hasSize(1);
+        assertThat(sync.get("completions").get(0).get("completionDate").asText()).isEqualTo(LocalDate.now().toString());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Delta Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Changes after the cursor → only those habits and completions, with fresh streaks")
+    void deltaContainsOnlyChangesAfterCursor() throws Exception {
+        Long untouchedId = createHabit(token, "Read", "Ten pages");
+        long cursor = sync(null).get("cursor").asLong();
+
+        markCompleted(habitId, LocalDate.now());
+        Long newHabitId = createHabit(token, "Stretch", "Evening");
+
+        JsonNode sync = sync(cursor);
+
+        assertThat(sync.get("full").asBoolean()).isFalse();
+        assertThat(sync.get("cursor").asLong()).isEqualTo(latestEntryId());
+        assertThat(sync.get("habits").findValuesAsText("id"))
+                .containsExactly(habitId.toString(), newHabitId.toString())
+                .doesNotContain(untouchedId.toString());
+        assertThat(sync.get("habits").get(0).get("currentStreak").asInt()).isEqualTo(1);
+        assertThat(sync.get("completions")).hasSize(1);
+        assertThat(sync.get("completions").get(0).get("habitId").asLong()).isEqualTo(habitId);
+        assertThat(sync.get("deletedHabitIds")).isEmpty();
+        assertThat(sync.get("deletedCompletions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Last sync on an earlier day → every habit with today's streaks, though nothing changed")
+    void newDayRefreshesEveryStreak() throws Exception {
+        Long readId = createHabit(token, "Read", "Ten pages");
+        markCompleted(habitId, LocalDate.now().minusDays(2));
+        markCompleted(readId, LocalDate.now().minusDays(1));
+        JsonNode snapshot = sync(null);
+        long cursor = snapshot.get("cursor").asLong();
+
+        JsonNode sameDay = sync(cursor, LocalDate.now());
+        JsonNode nextDay = sync(cursor, LocalDate.now().minusDays(1));
+
+        assertThat(snapshot.get("day").asText()).isEqualTo(LocalDate.now().toString());
+        assertThat(sameDay.get("habits")).isEmpty();
+        assertThat(nextDay.get("full").asBoolean()).isFalse();
+        assertThat(nextDay.get("cursor").asLong()).isEqualTo(cursor);
+        assertThat(nextDay.get("day").asText()).isEqualTo(LocalDate.now().toString());
+        assertThat(nextDay.get("habits")).isEqualTo(snapshot.get("habits"));
+        assertThat(nextDay.get("completions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Cursor without day → treated as an earlier day, every habit is sent")
+    void missingDayRefreshesEveryStreak() throws Exception {
+        Long readId = createHabit(token, "Read", "Ten pages");
+        long cursor = sync(null).get("cursor").asLong();
+
+        JsonNode sync = sync(cursor, null);
+
+        assertThat(sync.get("habits").findValuesAsText("id")).containsExactly(habitId.toString(), readId.toString());
+    }
+
+    @Test
+    @DisplayName("Nothing changed → empty delta and the same cursor")
+    void emptyDeltaKeepsCursor() throws Exception {
+        long cursor = sync(null).get("cursor").asLong();
+
+        JsonNode sync = sync(cursor);
+
+        assertThat(sync.get("cursor").asLong()).isEqualTo(cursor);
+        assertThat(sync.get("habits")).isEmpty();
+        assertThat(sync.get("completions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Mark then unmark → listed once, as deleted; deleted habit hides its completions")
+    void deletionsCollapseToLastOperation() throws Exception {
+        Long doomedId = createHabit(token, "Doomed", "Deleted below");
+        long cursor = sync(null).get("cursor").asLong();
+
+        markCompleted(habitId, DAY);
+        mockMvc.perform(delete("/api/habits/{id}/completions/{date}", habitId, DAY)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        markCompleted(doomedId, DAY);
+        mockMvc.perform(delete("/api/habits/{id}", doomedId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        JsonNode sync = sync(cursor);
+
+        assertThat(sync.get("completions")).isEmpty();
+        assertThat(sync.get("deletedCompletions")).hasSize(1);
+        assertThat(sync.get("deletedCompletions").get(0).get("habitId").asLong()).isEqualTo(habitId);
+        assertThat(sync.get("deletedCompletions").get(0).get("completionDate").asText()).isEqualTo(DAY.toString());
+        assertThat(sync.get("deletedHabitIds")).hasSize(1);
+        assertThat(sync.get("deletedHabitIds").get(0).asLong()).isEqualTo(doomedId);
+        assertThat(sync.get("habits").findValuesAsText("id")).containsExactly(habitId.toString());
+    }
+
+    @Test
+    @DisplayName("Another user's changes never appear in the delta")
+    void deltaIsPerUser() throws Exception {
+        long cursor = sync(null).get("cursor").asLong();
+
+        String otherToken = signUpAndLogin("alice@example.com");
+        createHabit(otherToken, "Alice's habit", "Not Bob's");
+
+        JsonNode sync = sync(cursor);
+
+        assertThat(sync.get("cursor").asLong()).isEqualTo(cursor);
+        assertThat(sync.get("habits")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A rejected write (409) adds no change log entry")
+    void failedWriteLeavesNoEntry() throws Exception {
+        markCompleted(habitId, DAY);
+        long entries = changeLogRepository.count();
+
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", DAY.toString()))
+                .andExpect(status().isConflict());
+
+        assertThat(changeLogRepository.count()).isEqualTo(entries);
+    }
+
+    @Test
+    @DisplayName("More entries than one page → hasMore, and the next request continues from the cursor")
+    void largeBacklogIsPaged() throws Exception {
+        long cursor = sync(null).get("cursor").asLong();
+        Long userId = userRepository.findByEmail("bob@example.com").orElseThrow().getId();
+
+        List<ChangeLogEntry> backlog = new ArrayList<>();
+        for (int day = 0; day < 1500; day++) {
+            backlog.add(ChangeLogEntry.builder()
+                    .userId(userId)
+                    .entityType(ChangeLogEntry.EntityType.COMPLETION)
+                    .operation(ChangeLogEntry.Operation.DELETE)
+                    .habitId(habitId)
+                    .completionDate(DAY.minusDays(day))
+                    .changedAt(Instant.now())
+                    .build());
+        }
+        changeLogRepository.saveAll(backlog);
+
+        JsonNode first = sync(cursor);
+        JsonNode second = sync(first.get("cursor").asLong());
+
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+        assertThat(first.get("deletedCompletions")).hasSize(1000);
+        assertThat(second.get("hasMore").asBoolean()).isFalse();
+        assertThat(second.get("deletedCompletions")).hasSize(500);
+        assertThat(second.get("cursor").asLong()).isEqualTo(latestEntryId());
+    }
+
+    @Test
+    @DisplayName("GET /api/sync without JWT should return 401 Unauthorized")
+    void syncWithoutJwtShouldFail() throws Exception {
+        mockMvc.perform(get("/api/sync"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper Methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Syncs like a client whose previous sync (if any) was today.
+     */
+    private JsonNode sync(Long since) throws Exception {
+        return sync(since, since != null ? LocalDate.now() : null);
+    }
+
+    private JsonNode sync(Long since, LocalDate day) throws Exception {
+        var request = get("/api/sync").header("Authorization", "Bearer " + token);
+        if (since != null) {
+            request.param("since", since.toString());
+        }
+        if (day != null) {
+            request.param("day", day.toString());
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private long latestEntryId() {
+        Long userId = userRepository.findByEmail("bob@example.com").orElseThrow().getId();
+        return changeLogRepository.findLatestIdByUserId(userId);
+    }
+
+    private void markCompleted(Long id, LocalDate date) throws Exception {
+        mockMvc.perform(post("/api/habits/{id}/completions", id)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", date.toString()))
+                .andExpect(status().isOk());
+    }
+
+    private String signUpAndLogin(String email) throws Exception {
+        signUp(email);
+        LoginRequest login = LoginRequest.builder()
+                .email(email).password("password123").build();
+
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    private void signUp(String email) throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email(email).password("password123").build();
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private Long createHabit(String authToken, String name, String description) throws Exception {
+        HabitRequest req = HabitRequest.builder()
+                .name(name).description(description).build();
+
+        String response = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
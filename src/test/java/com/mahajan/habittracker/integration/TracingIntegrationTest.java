@@ -0,0 +1,150 @@
+package com.mahajan.habittracker.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Traces GET /api/habits end to end and reads the spans back from the file exporter: the JWT filter,
+ * the controller method, streak calculation and the JDBC statements all land in one trace, nested
+ * under the controller where they belong.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    private static final Path SPAN_FILE = createSpanFile();
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private SdkTracerProvider tracerProvider;
+
+    @DynamicPropertySource
+    static void tracingProperties(DynamicPropertyRegistry registry) {
+        registry.add("management.tracing.sampling.probability", () -> "1.0");
+        registry.add("app.tracing.file", SPAN_FILE::toString);
+    }
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Trace Shape
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/habits → auth, controller, streak and SQL spans in one trace")
+    void habitsRequestIsTracedEndToEnd() throws Exception {
+        String token = signUpAndLogin();
+        HabitRequest habitReq = HabitRequest.builder().name("Exercise").description("Morning run").build();
+        mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(habitReq)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/habits").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        List<JsonNode> spans = exportedSpans();
+        JsonNode controller = spans.stream()
+                .filter(span -> span.get("name").asText().equals("HabitController.getHabits"))
+                .findFirst().orElseThrow();
+        String traceId = controller.get("traceId").asText();
+        List<JsonNode> trace = spans.stream().filter(span -> span.get("traceId").asText().equals(traceId)).toList();
+
+        assertThat(trace).anySatisfy(span -> {
+            assertThat(span.get("name").asText()).isEqualTo("jwt.authenticate");
+            assertThat(span.at("/attributes/outcome").asText()).isEqualTo("authenticated");
+        });
+        assertThat(trace).anySatisfy(span -> {
+            assertThat(span.get("name").asText()).isEqualTo("habit.streaks.calculation");
+            assertThat(span.get("parentSpanId").asText()).isEqualTo(controller.get("spanId").asText());
+        });
+        assertThat(trace).anySatisfy(span -> {
+            assertThat(span.get("name").asText()).isEqualTo("SELECT");
+            assertThat(span.get("kind").asText()).isEqualTo("CLIENT");
+            assertThat(span.at("/attributes/db.statement").asText()).contains("habit");
+        });
+        assertThat(trace).anySatisfy(span ->
+                assertThat(span.get("name").asText()).isEqualTo("http get /api/habits"));
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private List<JsonNode> exportedSpans() throws Exception {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(SPAN_FILE)) {
+            spans.add(objectMapper.readTree(line));
+        }
+        return spans;
+    }
+
+    private static Path createSpanFile() {
+        try {
+            Path file = Files.createTempFile("spans", ".jsonl");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String signUpAndLogin() throws Exception {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .email("trace@example.com").password("password123").build();
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest login = LoginRequest.builder()
+                .email("trace@example.com").password("password123").build();
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
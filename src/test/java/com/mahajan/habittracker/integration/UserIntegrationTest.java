@@ -1,6 +1,7 @@
 package com.mahajan.habittracker.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.HabitRequest;
 import com.mahajan.habittracker.dto.LoginRequest;
 import com.mahajan.habittracker.dto.SignupRequest;
 import com.mahajan.habittracker.repository.UserRepository;
@@ -14,11 +15,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -90,4 +100,74 @@ class UserIntegrationTest {
                         .header("Authorization", "Bearer invalid.token.value"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @DisplayName("GET /api/users/me/export should stream habits and completions as NDJSON")
+    void testExportNdjson() throws Exception {
+        Long habitId = createHabit("Exercise", "Morning run");
+        markCompleted(habitId, "2025-01-01");
+        markCompleted(habitId, "2025-01-02");
+
+        MvcResult started = mockMvc.perform(get("/api/users/me/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).containsExactly(
+                "{\"type\":\"habit\",\"id\":" + habitId + ",\"name\":\"Exercise\",\"description\":\"Morning run\"}",
+                "{\"type\":\"completion\",\"habitId\":" + habitId + ",\"completionDate\":\"2025-01-01\"}",
+                "{\"type\":\"completion\",\"habitId\":" + habitId + ",\"completionDate\":\"2025-01-02\"}");
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/export?format=csv should gzip the body when the client accepts it")
+    void testExportCsvGzip() throws Exception {
+        Long habitId = createHabit("Read", "Read 30 mins");
+        markCompleted(habitId, "2025-03-04");
+
+        MvcResult started = mockMvc.perform(get("/api/users/me/export")
+                        .param("format", "csv")
+                        .header("Accept-Encoding", "gzip")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv).isEqualTo("habit_id,habit_name,habit_description,completion_date\n"
+                + habitId + ",Read,Read 30 mins,2025-03-04\n");
+    }
+
+    private Long createHabit(String name, String description) throws Exception {
+        HabitRequest req = HabitRequest.builder()
+                .name(name).description(description).build();
+
+        String response = mockMvc.perform(post("/api/habits")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private void markCompleted(Long habitId, String date) throws Exception {
+        mockMvc.perform(post("/api/habits/{id}/completions", habitId)
+                        .header("Authorization", "Bearer " + token)
+                        .param("date", date))
+                .andExpect(status().isOk());
+    }
 }
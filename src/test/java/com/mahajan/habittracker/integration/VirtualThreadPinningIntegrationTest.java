@@ -0,0 +1,160 @@
+package com.mahajan.habittracker.integration;
+
+import com.mahajan.habittracker.dto.HabitRequest;
+import com.mahajan.habittracker.dto.LoginRequest;
+import com.mahajan.habittracker.dto.SignupRequest;
+import com.mahajan.habittracker.repository.UserRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot request paths (JwtAuthFilter, repository calls, completions, dashboard) on Tomcat's
+ * virtual threads and fails if any of them parks while pinned to its carrier (a jdk.VirtualThreadPinned
+ * JFR event). Pins inside H2 are ignored: it only backs the tests, production uses PostgreSQL.
+ * Needs Java 21+; skipped on older runtimes, where virtual threads are unavailable.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+class VirtualThreadPinningIntegrationTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int CONCURRENT_USERS = 16;
+
+    @Autowired private TestRestTemplate restTemplate;
+    @Autowired private UserRepository userRepository;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Pinning Audit
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Concurrent authenticated traffic on virtual threads → no pinned parks outside H2")
+    void hotPathsDoNotPinCarrierThreads() throws Exception {
+        // First pass loads classes and fills caches, so the recorded pass sees steady-state code paths
+        userFlow("warmup@example.com");
+
+        List<RecordedEvent> pins;
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_USERS);
+            List<Future<?>> flows = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_USERS; i++) {
+                String email = "user" + i + "@example.com";
+                flows.add(clients.submit(() -> {
+                    userFlow(email);
+                    return null;
+                }));
+            }
+            for (Future<?> flow : flows) {
+                flow.get();
+            }
+            clients.shutdown();
+
+            recording.stop();
+            Path dump = Files.createTempFile("pinning", ".jfr");
+            recording.dump(dump);
+            pins = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .filter(event -> !isInH2(event))
+                    .toList();
+            Files.deleteIfExists(dump);
+        }
+
+        assertThat(pins)
+                .as(() -> "Virtual threads pinned at:\n" + pins.stream()
+                        .map(VirtualThreadPinningIntegrationTest::describe)
+                        .collect(Collectors.joining("\n\n")))
+                .isEmpty();
+    }
+
+    // -------------------------------------------------------------------------
+    // 🔹 Helper methods
+    // -------------------------------------------------------------------------
+
+    private void userFlow(String email) {
+        SignupRequest signup = SignupRequest.builder().email(email).password("password123").build();
+        assertThat(restTemplate.postForEntity("/api/auth/signup", signup, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        LoginRequest login = LoginRequest.builder().email(email).password("password123").build();
+        ResponseEntity<Map> loginResponse = restTemplate.postForEntity("/api/auth/login", login, Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) loginResponse.getBody().get("token"));
+
+        HabitRequest habit = HabitRequest.builder().name("Exercise").description("Morning run").build();
+        ResponseEntity<Map> created = restTemplate.exchange("/api/habits", HttpMethod.POST,
+                new HttpEntity<>(habit, headers), Map.class);
+        Object habitId = created.getBody().get("id");
+
+        for (int day = 0; day < 5; day++) {
+            restTemplate.exchange("/api/habits/{id}/completions?date={date}", HttpMethod.POST,
+                    new HttpEntity<>(headers), String.class, habitId, LocalDate.now().minusDays(day));
+        }
+        for (String path : List.of("/api/habits", "/api/habits/" + habitId, "/api/habits/" + habitId + "/completions",
+                "/api/habits/" + habitId + "/stats", "/api/dashboard/today", "/api/users/me")) {
+            ResponseEntity<String> response = restTemplate.exchange(path, HttpMethod.GET,
+                    new HttpEntity<>(headers), String.class);
+            assertThat(response.getStatusCode()).as(path).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    private static boolean isInH2(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("org.h2."));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(VirtualThreadPinningIntegrationTest::describe)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + " line " + frame.getLineNumber();
+    }
+}
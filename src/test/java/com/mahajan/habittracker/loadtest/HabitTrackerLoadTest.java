@@ -0,0 +1,72 @@
+package com.mahajan.habittracker.loadtest;
+
+import com.mahajan.habittracker.HabitTrackerApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP load test: boots the app against a local database, seeds realistic users and replays a
+ * weighted traffic mix, then reports throughput and latency percentiles per endpoint.
+ *
+ * Excluded from the normal build; run it with the loadtest profile, e.g.
+ * <pre>
+ * ./mvnw -Ploadtest test -Dloadtest.concurrency=64 -Dloadtest.duration=5m
+ * </pre>
+ * Without -Dloadtest.db.url a PostgreSQL container is started (needs Docker). The app runs with the
+ * prod defaults (no SQL headers, INFO logging) so results are comparable to a deployed instance.
+ */
+@Tag("loadtest")
+class HabitTrackerLoadTest {
+
+    @Test
+    void replayTrafficMix() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        try (PostgreSQLContainer<?> postgres = settings.dbUrl() == null ? startPostgres() : null) {
+            String dbUrl = postgres != null ? postgres.getJdbcUrl() : settings.dbUrl();
+            String username = postgres != null ? postgres.getUsername() : settings.dbUsername();
+            String password = postgres != null ? postgres.getPassword() : settings.dbPassword();
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(HabitTrackerApplication.class).run(
+                    "--spring.datasource.url=" + dbUrl,
+                    "--spring.datasource.username=" + username,
+                    "--spring.datasource.password=" + password,
+                    "--spring.jpa.hibernate.ddl-auto=validate",
+                    "--server.port=0",
+                    "--management.server.port=-1")) {
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+                Random random = new Random(settings.seed());
+                List<SeededUser> users = new LoadTestSeeder(app.getBean(JdbcTemplate.class),
+                        app.getBean(PasswordEncoder.class), random).seed(settings.users());
+
+                LatencyRecorder recorder = TrafficReplay.replay(settings, URI.create("http://localhost:" + port), users, random);
+
+                String report = recorder.report(settings.duration(), settings.concurrency());
+                System.out.println(report);
+                Files.createDirectories(settings.reportDir());
+                Files.writeString(settings.reportDir().resolve("loadtest-report.txt"), report);
+
+                assertThat(recorder.totalRequests()).isPositive();
+            }
+        }
+    }
+
+    private static PostgreSQLContainer<?> startPostgres() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        return postgres;
+    }
+}
@@ -0,0 +1,112 @@
+package com.mahajan.habittracker.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-endpoint request latencies and errors, reported as throughput and latency percentiles.
+ */
+class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean error) {
+        stats.get(operation).record(latencyNanos, error);
+    }
+
+    long totalRequests() {
+        return stats.values().stream().mapToLong(EndpointStats::count).sum();
+    }
+
+    long totalErrors() {
+        return stats.values().stream().mapToLong(EndpointStats::errors).sum();
+    }
+
+    /**
+     * Latency percentile across all endpoints, in nanoseconds.
+     */
+    long overallPercentile(double percentile) {
+        long[] all = stats.values().stream()
+                .flatMapToLong(endpoint -> Arrays.stream(endpoint.sortedLatencies()))
+                .sorted()
+                .toArray();
+        return all.length == 0 ? 0 : percentile(all, percentile);
+    }
+
+    String report(Duration measured, int concurrency) {
+        double seconds = measured.toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Measured %.1fs with %d virtual users, %d requests, %.1f req/s%n%n",
+                seconds, concurrency, totalRequests(), totalRequests() / seconds));
+        report.append(String.format(Locale.ROOT, "%-50s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.count() == 0) {
+                continue;
+            }
+            long[] sorted = endpoint.sortedLatencies();
+            report.append(String.format(Locale.ROOT, "%-50s %8d %7d %9.1f",
+                    entry.getKey().endpoint(), sorted.length, endpoint.errors(), sorted.length / seconds));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(Locale.ROOT, " %8.1f", millis(percentile(sorted, percentile))));
+            }
+            report.append(String.format(Locale.ROOT, " %8.1f%n", millis(sorted[sorted.length - 1])));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class EndpointStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long latencyNanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mahajan.habittracker.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds users, habits and completion histories straight into the database.
+ *
+ * Distributions are meant to look like real accounts rather than uniform noise: most users track
+ * three to five habits, habit ages are exponential (mean ~90 days, capped at a year), and each habit
+ * follows an adherence profile where a completed day makes the next one more likely, so histories
+ * contain streaks and gaps. All users share one password, hashed once.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int[] HABITS_PER_USER_WEIGHTS = {0, 10, 15, 22, 20, 15, 8, 6, 4};
+    private static final String[] HABIT_NAMES = {
+            "Exercise", "Reading", "Meditation", "Journaling", "Drink water", "Stretching",
+            "Language practice", "No sugar", "Walk 10k steps", "Sleep by 11"};
+
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random;
+
+    LoadTestSeeder(JdbcTemplate jdbc, PasswordEncoder passwordEncoder, Random random) {
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+        this.random = random;
+    }
+
+    List<SeededUser> seed(int userCount) {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        LocalDate today = LocalDate.now();
+        List<SeededUser> users = new ArrayList<>(userCount);
+
+        for (int i = 0; i < userCount; i++) {
+            String email = "loadtest-" + i + "@example.com";
+            jdbc.update("insert into users (email, password) values (?, ?)", email, encodedPassword);
+            Long userId = jdbc.queryForObject("select id from users where email = ?", Long.class, email);
+
+            int habitCount = pickWeighted(HABITS_PER_USER_WEIGHTS);
+            List<Object[]> habitRows = new ArrayList<>();
+            for (int h = 0; h < habitCount; h++) {
+                String name = HABIT_NAMES[(i + h) % HABIT_NAMES.length];
+                habitRows.add(new Object[]{name, name + " every day", userId});
+            }
+            jdbc.batchUpdate("insert into habit (name, description, user_id) values (?, ?, ?)", habitRows);
+            List<Long> habitIds = jdbc.queryForList("select id from habit where user_id = ? order by id", Long.class, userId);
+
+            Set<Long> completedToday = new HashSet<>();
+            List<Object[]> completionRows = new ArrayList<>();
+            for (Long habitId : habitIds) {
+                for (LocalDate day : completionHistory(today)) {
+                    completionRows.add(new Object[]{habitId, userId, Date.valueOf(day)});
+                    if (day.equals(today)) {
+                        completedToday.add(habitId);
+                    }
+                }
+            }
+            jdbc.batchUpdate("insert into habit_completion (habit_id, user_id, completion_date) values (?, ?, ?)", completionRows);
+
+            users.add(new SeededUser(email, habitIds, completedToday));
+        }
+        return users;
+    }
+
+    private List<LocalDate> completionHistory(LocalDate today) {
+        int ageDays = (int) Math.min(365, -Math.log(1 - random.nextDouble()) * 90);
+        double adherence = adherence();
+
+        List<LocalDate> days = new ArrayList<>();
+        boolean completedYesterday = false;
+        for (LocalDate day = today.minusDays(ageDays); !day.isAfter(today); day = day.plusDays(1)) {
+            double chance = completedYesterday ? Math.min(0.98, adherence + 0.1) : adherence * 0.8;
+            completedYesterday = random.nextDouble() < chance;
+            if (completedYesterday) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Consistent (25%), regular (45%) or sporadic (30%) habit keepers.
+     */
+    private double adherence() {
+        double profile = random.nextDouble();
+        if (profile < 0.25) {
+            return 0.85 + random.nextDouble() * 0.13;
+        } else if (profile < 0.70) {
+            return 0.5 + random.nextDouble() * 0.3;
+        }
+        return 0.1 + random.nextDouble() * 0.3;
+    }
+
+    private int pickWeighted(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
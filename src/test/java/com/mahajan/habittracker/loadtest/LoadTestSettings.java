@@ -0,0 +1,48 @@
+package com.mahajan.habittracker.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param users       seeded users; each virtual user works through its own share of them
+ * @param concurrency virtual users (threads) sending requests
+ * @param warmup      traffic sent before measuring starts (JIT, caches, pool)
+ * @param duration    measured traffic
+ * @param seed        random seed for the seeded data and the traffic mix, so runs are repeatable
+ * @param dbUrl       JDBC URL of a local database; when absent a PostgreSQL container is started
+ * @param reportDir   where loadtest-report.txt is written
+ */
+record LoadTestSettings(int users, int concurrency, Duration warmup, Duration duration, long seed,
+                        String dbUrl, String dbUsername, String dbPassword, Path reportDir) {
+
+    LoadTestSettings {
+        if (users < concurrency) {
+            throw new IllegalArgumentException("loadtest.users (" + users + ") must be at least loadtest.concurrency ("
+                    + concurrency + "): every virtual user needs its own seeded users");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return fromSystemProperties(200, 32);
+    }
+
+    /**
+     * Same properties, with test-specific defaults for the user count and concurrency.
+     */
+    static LoadTestSettings fromSystemProperties(int defaultUsers, int defaultConcurrency) {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", defaultUsers),
+                Integer.getInteger("loadtest.concurrency", defaultConcurrency),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "30s")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "2m")),
+                Long.getLong("loadtest.seed", 42L),
+                System.getProperty("loadtest.db.url"),
+                System.getProperty("loadtest.db.username", "postgres"),
+                System.getProperty("loadtest.db.password", "postgres"),
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")));
+    }
+}
@@ -0,0 +1,44 @@
+package com.mahajan.habittracker.loadtest;
+
+import java.util.Random;
+
+/**
+ * The traffic mix: the calls from the Postman collection plus the daily check-in flow, weighted by
+ * how often a client makes them. Weights add up to 100.
+ */
+enum Operation {
+
+    LOGIN("POST /api/auth/login", 5),
+    DASHBOARD("GET /api/dashboard/today", 30),
+    LIST_HABITS("GET /api/habits", 18),
+    MARK_COMPLETED("POST /api/habits/{habitId}/completions", 12),
+    UNMARK_COMPLETED("DELETE /api/habits/{habitId}/completions/{date}", 8),
+    HISTORY("GET /api/habits/{habitId}/completions", 15),
+    STATS("GET /api/habits/{habitId}/stats", 7),
+    PROFILE("GET /api/users/me", 5);
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final String endpoint;
+    private final int weight;
+
+    Operation(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation pick(Random random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : values()) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return DASHBOARD;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mahajan.habittracker.loadtest;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A user created by the LoadTestSeeder, with the ids of their habits and which of them are already
+ * completed today (kept up to date by the virtual user that owns them, so mark/unmark stay valid).
+ */
+record SeededUser(String email, List<Long> habitIds, Set<Long> completedToday) {
+}
@@ -0,0 +1,99 @@
+package com.mahajan.habittracker.loadtest;
+
+import com.mahajan.habittracker.HabitTrackerApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform vs virtual threads: replays the same traffic mix against the app twice, first with Tomcat's
+ * platform thread pool and then with spring.threads.virtual.enabled=true, and reports both side by side.
+ *
+ * The default concurrency (400) is twice Tomcat's default thread cap, so with platform threads half the
+ * requests wait for a handler thread; with virtual threads they all run and wait on the connection pool
+ * instead. Run it on Java 21+ with the loadtest profile, e.g.
+ * <pre>
+ * ./mvnw -Ploadtest test -Dtest=ThreadModeLoadTest -Dloadtest.concurrency=800 -Dloadtest.users=800 -Dloadtest.pool-size=40
+ * </pre>
+ */
+@Tag("loadtest")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadModeLoadTest {
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties(400, 400);
+        int poolSize = Integer.getInteger("loadtest.pool-size", 40);
+        int tomcatThreads = Integer.getInteger("loadtest.tomcat-threads", 200);
+
+        try (PostgreSQLContainer<?> postgres = settings.dbUrl() == null ? startPostgres() : null) {
+            String dbUrl = postgres != null ? postgres.getJdbcUrl() : settings.dbUrl();
+            String username = postgres != null ? postgres.getUsername() : settings.dbUsername();
+            String password = postgres != null ? postgres.getPassword() : settings.dbPassword();
+
+            StringBuilder report = new StringBuilder();
+            StringBuilder summary = new StringBuilder(String.format(Locale.ROOT, "%-10s %9s %8s %8s %8s%n",
+                    "Threads", "Req/s", "Errors", "p50 ms", "p99 ms"));
+            List<SeededUser> users = null;
+
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext app = new SpringApplicationBuilder(HabitTrackerApplication.class).run(
+                        "--spring.datasource.url=" + dbUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--server.port=0",
+                        "--management.server.port=-1")) {
+                    int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+                    if (users == null) {
+                        users = new LoadTestSeeder(app.getBean(JdbcTemplate.class), app.getBean(PasswordEncoder.class),
+                                new Random(settings.seed())).seed(settings.users());
+                    }
+
+                    // Same seed for both modes, so each replays the same sequence of operations
+                    LatencyRecorder recorder = TrafficReplay.replay(settings, URI.create("http://localhost:" + port),
+                            users, new Random(settings.seed() + 1));
+
+                    String mode = virtual ? "virtual" : "platform";
+                    report.append("=== ").append(mode).append(" threads ===\n")
+                            .append(recorder.report(settings.duration(), settings.concurrency())).append('\n');
+                    summary.append(String.format(Locale.ROOT, "%-10s %9.1f %8d %8.1f %8.1f%n", mode,
+                            recorder.totalRequests() / (settings.duration().toMillis() / 1000.0), recorder.totalErrors(),
+                            recorder.overallPercentile(50) / 1_000_000.0, recorder.overallPercentile(99) / 1_000_000.0));
+
+                    assertThat(recorder.totalRequests()).isPositive();
+                }
+            }
+
+            report.append(String.format(Locale.ROOT, "%d concurrent users, Tomcat max threads %d, pool size %d%n",
+                    settings.concurrency(), tomcatThreads, poolSize)).append(summary);
+            System.out.println(report);
+            Files.createDirectories(settings.reportDir());
+            Files.writeString(settings.reportDir().resolve("thread-mode-report.txt"), report);
+        }
+    }
+
+    private static PostgreSQLContainer<?> startPostgres() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        return postgres;
+    }
+}
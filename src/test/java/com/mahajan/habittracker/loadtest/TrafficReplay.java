@@ -0,0 +1,54 @@
+package com.mahajan.habittracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the weighted traffic mix against a running app with one VirtualUser per unit of concurrency.
+ */
+final class TrafficReplay {
+
+    private TrafficReplay() {
+    }
+
+    static LatencyRecorder replay(LoadTestSettings settings, URI baseUri, List<SeededUser> users, Random random)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long stopAt = measureFrom + settings.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            executor.execute(new VirtualUser(client, baseUri, objectMapper, shareOf(users, i, settings.concurrency()),
+                    new Random(random.nextLong()), recorder, measureFrom, stopAt));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(settings.warmup().plus(settings.duration()).toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        return recorder;
+    }
+
+    /**
+     * Every concurrency-th user, so virtual users never share (and race on) a seeded user.
+     */
+    private static List<SeededUser> shareOf(List<SeededUser> users, int index, int concurrency) {
+        List<SeededUser> share = new ArrayList<>();
+        for (int i = index; i < users.size(); i += concurrency) {
+            share.add(users.get(i));
+        }
+        return share;
+    }
+}
@@ -0,0 +1,156 @@
+package com.mahajan.habittracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One load-generating thread. It works through its own share of the seeded users, logging each in
+ * on first use and then sending operations drawn from the traffic mix until the run ends. Only
+ * requests started after the warmup are recorded.
+ */
+class VirtualUser implements Runnable {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final List<SeededUser> users;
+    private final Random random;
+    private final LatencyRecorder recorder;
+    private final long measureFromNanos;
+    private final long stopAtNanos;
+    private final Map<String, String> tokens = new HashMap<>();
+
+    VirtualUser(HttpClient client, URI baseUri, ObjectMapper objectMapper, List<SeededUser> users, Random random,
+                LatencyRecorder recorder, long measureFromNanos, long stopAtNanos) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.users = users;
+        this.random = random;
+        this.recorder = recorder;
+        this.measureFromNanos = measureFromNanos;
+        this.stopAtNanos = stopAtNanos;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+            SeededUser user = users.get(random.nextInt(users.size()));
+            Operation operation = tokens.containsKey(user.email()) ? Operation.pick(random) : Operation.LOGIN;
+            try {
+                execute(resolve(operation, user), user);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Swaps operations that cannot apply to this user right now (no habits, nothing left to mark or unmark).
+     */
+    private Operation resolve(Operation operation, SeededUser user) {
+        if (user.habitIds().isEmpty() && operation.endpoint().contains("{habitId}")) {
+            return Operation.LIST_HABITS;
+        }
+        if (operation == Operation.MARK_COMPLETED && user.completedToday().size() == user.habitIds().size()) {
+            return Operation.UNMARK_COMPLETED;
+        }
+        if (operation == Operation.UNMARK_COMPLETED && user.completedToday().isEmpty()) {
+            return Operation.MARK_COMPLETED;
+        }
+        return operation;
+    }
+
+    private void execute(Operation operation, SeededUser user) throws InterruptedException {
+        String token = tokens.get(user.email());
+        switch (operation) {
+            case LOGIN -> {
+                String body = "{\"email\":\"" + user.email() + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+                HttpResponse<String> response = send(operation, HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+                if (response != null && response.statusCode() == 200) {
+                    tokens.put(user.email(), readToken(response.body()));
+                }
+            }
+            case DASHBOARD -> send(operation, get("/api/dashboard/today", token));
+            case LIST_HABITS -> send(operation, get("/api/habits", token));
+            case PROFILE -> send(operation, get("/api/users/me", token));
+            case HISTORY -> send(operation, get("/api/habits/" + anyHabit(user) + "/completions", token));
+            case STATS -> send(operation, get("/api/habits/" + anyHabit(user) + "/stats", token));
+            case MARK_COMPLETED -> {
+                Long habitId = pick(user.habitIds().stream().filter(id -> !user.completedToday().contains(id)).toList());
+                HttpResponse<String> response = send(operation, authorized(uri("/api/habits/" + habitId + "/completions"), token)
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+                if (response != null && response.statusCode() < 300) {
+                    user.completedToday().add(habitId);
+                }
+            }
+            case UNMARK_COMPLETED -> {
+                Long habitId = pick(new ArrayList<>(user.completedToday()));
+                HttpResponse<String> response = send(operation,
+                        authorized(uri("/api/habits/" + habitId + "/completions/" + LocalDate.now()), token).DELETE());
+                if (response != null && response.statusCode() < 300) {
+                    user.completedToday().remove(habitId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the request and records its latency; an I/O failure is recorded as an error and returns null.
+     */
+    private HttpResponse<String> send(Operation operation, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // recorded as an error below
+        }
+        if (start >= measureFromNanos) {
+            boolean error = response == null || response.statusCode() >= 400;
+            recorder.record(operation, System.nanoTime() - start, error);
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder get(String path, String token) {
+        return authorized(uri(path), token).GET();
+    }
+
+    private HttpRequest.Builder authorized(URI uri, String token) {
+        return HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private Long anyHabit(SeededUser user) {
+        return pick(user.habitIds());
+    }
+
+    private Long pick(List<Long> habitIds) {
+        return habitIds.get(random.nextInt(habitIds.size()));
+    }
+
+    private String readToken(String body) {
+        try {
+            return objectMapper.readTree(body).get("token").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected login response: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mahajan.habittracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitingTurboFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000L);
+    private final LoggerContext context = new LoggerContext();
+    private RateLimitingTurboFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new RateLimitingTurboFilter(nanos::get);
+        filter.addLimit("com.example=3");
+        filter.addLimit("com.example.noisy=1");
+        filter.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    }
+
+    @Test
+    @DisplayName("Events over the per-second limit are denied and counted, then the next window allows them again")
+    void limitsEventsPerWindow() {
+        Logger logger = context.getLogger("com.example.Service");
+
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(logger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(logger, Level.WARN)).isEqualTo(FilterReply.DENY);
+        assertThat(filter.getSuppressedCount("com.example")).isEqualTo(2);
+
+        nanos.addAndGet(1_000_000_000L);
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("ERROR events are never rate limited")
+    void errorsAlwaysPass() {
+        Logger logger = context.getLogger("com.example.noisy.Job");
+
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(logger, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.getSuppressedCount("com.example.noisy")).isZero();
+    }
+
+    @Test
+    @DisplayName("The longest matching category wins; other loggers and prefixes that are not a package are unlimited")
+    void matchesLongestCategory() {
+        Logger noisy = context.getLogger("com.example.noisy.Job");
+        Logger unrelated = context.getLogger("com.examples.Other");
+
+        assertThat(decide(noisy, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(noisy, Level.INFO)).isEqualTo(FilterReply.DENY);
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(unrelated, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.getSuppressedCount("com.example.noisy")).isEqualTo(1);
+        assertThat(filter.getSuppressedCount("com.example")).isZero();
+    }
+
+    @Test
+    @DisplayName("Disabled levels and isEnabled checks do not use up the budget")
+    void disabledLevelsDoNotCount() {
+        Logger logger = context.getLogger("com.example.noisy.Job");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(decide(logger, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(decide(logger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("Malformed limits are rejected")
+    void rejectsMalformedLimit() {
+        assertThatThrownBy(() -> filter.addLimit("com.example"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,131 @@
+package com.mahajan.habittracker.profiling;
+
+import com.mahajan.habittracker.config.ProfilingProperties;
+import com.mahajan.habittracker.dto.JfrDumpResponse;
+import com.mahajan.habittracker.exceptions.ProfilingUnavailableException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private ProfilingProperties properties;
+    private ContinuousRecording recording;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setDumpDirectory(dumpDirectory);
+        properties.setMaxDumps(2);
+        recording = new ContinuousRecording(properties, Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    void testDumpContainsCustomEvents() throws Exception {
+        recording.start();
+        assertTrue(recording.isRunning());
+
+        StreakCalculationEvent streak = new StreakCalculationEvent();
+        streak.begin();
+        streak.setCompletionDates(30);
+        streak.setCurrentStreak(3);
+        streak.setLongestStreak(12);
+        streak.commit();
+        JwtVerificationEvent jwt = new JwtVerificationEvent();
+        jwt.begin();
+        jwt.setOutcome("authenticated");
+        jwt.commit();
+
+        JfrDumpResponse dump = recording.dump(Duration.ofMinutes(1), ContinuousRecording.MANUAL);
+
+        assertEquals(60, dump.getWindowSeconds());
+        assertEquals("manual", dump.getReason());
+        assertTrue(dump.getFile().endsWith("habit-tracker-20260101-120000-000-manual.jfr"));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(dump.getFile()));
+        RecordedEvent recordedStreak = events.stream()
+                .filter(event -> event.getEventType().getName().equals("habittracker.StreakCalculation"))
+                .findFirst().orElseThrow();
+        assertEquals(12, recordedStreak.getInt("longestStreak"));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("habittracker.JwtVerification")
+                && "authenticated".equals(event.getString("outcome"))));
+    }
+
+    @Test
+    void testDumpWindowIsCappedAtMaxAge() {
+        properties.setMaxAge(Duration.ofMinutes(15));
+        recording.start();
+
+        assertEquals(Duration.ofMinutes(15).toSeconds(), recording.dump(Duration.ofHours(2), ContinuousRecording.MANUAL).getWindowSeconds());
+        assertEquals(properties.getDefaultWindow().toSeconds(), recording.dump(null, ContinuousRecording.MANUAL).getWindowSeconds());
+    }
+
+    @Test
+    void testSlowRequestsDumpOncePerCooldown() throws Exception {
+        recording.start();
+
+        recording.onSlowRequest("GET /api/habits", Duration.ofSeconds(3));
+        recording.onSlowRequest("GET /api/dashboard/today", Duration.ofSeconds(4));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (dumpFiles().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(200);
+        List<Path> dumps = dumpFiles();
+        assertEquals(1, dumps.size(), "second slow request falls inside the cooldown");
+        assertTrue(dumps.get(0).getFileName().toString().endsWith("-slow-request.jfr"));
+    }
+
+    @Test
+    void testOldestDumpsArePruned() throws Exception {
+        recording.start();
+
+        Files.createDirectories(dumpDirectory);
+        Files.writeString(dumpDirectory.resolve("habit-tracker-20250101-000000-000-manual.jfr"), "old");
+        Files.writeString(dumpDirectory.resolve("habit-tracker-20250601-000000-000-manual.jfr"), "old");
+        recording.dump(Duration.ofMinutes(1), ContinuousRecording.MANUAL);
+
+        List<String> names = dumpFiles().stream().map(path -> path.getFileName().toString()).sorted().toList();
+        assertEquals(List.of("habit-tracker-20250601-000000-000-manual.jfr", "habit-tracker-20260101-120000-000-manual.jfr"), names);
+    }
+
+    @Test
+    void testDisabledRecordingRejectsDumpsAndIgnoresSlowRequests() throws Exception {
+        properties.setEnabled(false);
+        recording.start();
+
+        assertFalse(recording.isRunning());
+        assertThrows(ProfilingUnavailableException.class, () -> recording.dump(null, ContinuousRecording.MANUAL));
+        recording.onSlowRequest("GET /api/habits", Duration.ofSeconds(3));
+        Thread.sleep(200);
+        assertTrue(dumpFiles().isEmpty());
+    }
+
+    private List<Path> dumpFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            return files.filter(path -> path.toString().endsWith(".jfr")).toList();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mahajan.habittracker.security;
 
 import com.mahajan.habittracker.util.JwtUtil;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,6 +37,8 @@ class JwtAuthFilterTest {
     private FilterChain filterChain;
     @Mock
     private UserDetails userDetails;
+    @Mock
+    private ObjectProvider<Tracer> tracer;
 
     @InjectMocks
     private JwtAuthFilter jwtAuthFilter;
@@ -1,5 +1,6 @@
 package com.mahajan.habittracker.security;
 
+import com.mahajan.habittracker.config.AdminProperties;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +22,9 @@ class UserAuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AdminProperties adminProperties;
+
     @InjectMocks
     private UserAuthService userAuthService;
 
@@ -40,6 +45,22 @@ class UserAuthServiceTest {
                 .anyMatch(auth -> auth.getAuthority().equals("USER")));
     }
 
+    @Test
+    void loadUserByUsernameGrantsAdminToConfiguredEmails() {
+        User user = new User();
+        user.setEmail("admin@example.com");
+        user.setPassword("password123");
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(user));
+        when(adminProperties.getEmails()).thenReturn(List.of("admin@example.com"));
+
+        var userDetails = userAuthService.loadUserByUsername("admin@example.com");
+
+        assertTrue(userDetails.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ADMIN")));
+        assertTrue(userDetails.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("USER")));
+    }
+
     @Test
     void loadUserByUsernameThrowsExceptionWhenUserDoesNotExist() {
         when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
@@ -0,0 +1,98 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.dto.DashboardHabitResponse;
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.TodayDashboardResponse;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.HabitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private HabitCompletionService completionService;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    private DashboardService dashboardService;
+
+    private User user;
+    private Habit exercise;
+    private Habit reading;
+
+    @BeforeEach
+    void setUp() {
+        // Real HabitService, so the dashboard is checked against the same streak calculation as the habit list
+        HabitService habitService = new HabitService(habitRepository, completionService,
+                new StreakCalculationService(new SimpleMeterRegistry(), Tracer.NOOP), changeLogService);
+        dashboardService = new DashboardService(habitService, completionService);
+        user = User.builder().id(1L).email("test@test.com").build();
+        exercise = Habit.builder().id(10L).name("Exercise").description("Daily workout").build();
+        reading = Habit.builder().id(11L).name("Read").build();
+    }
+
+    @Test
+    void testTodayDashboardCombinesHabitsAndCompletionsInTwoCalls() {
+        when(habitRepository.findByUser(user)).thenReturn(List.of(exercise, reading));
+        when(completionService.getCompletionDaysForUser(user)).thenReturn(List.of(
+                new HabitCompletionDay(10L, TODAY),
+                new HabitCompletionDay(10L, TODAY.minusDays(1)),
+                new HabitCompletionDay(11L, TODAY.minusDays(1)),
+                new HabitCompletionDay(11L, TODAY.minusDays(5)),
+                new HabitCompletionDay(11L, TODAY.minusDays(6)),
+                new HabitCompletionDay(11L, TODAY.minusDays(7))));
+
+        TodayDashboardResponse result = dashboardService.getTodayDashboard(user);
+
+        assertEquals(TODAY, result.getDate());
+        assertEquals(2, result.getHabits().size());
+
+        DashboardHabitResponse first = result.getHabits().get(0);
+        assertEquals(10L, first.getId());
+        assertTrue(first.getCompletedToday());
+        assertEquals(2, first.getCurrentStreak());
+        assertEquals(2, first.getLongestStreak());
+
+        DashboardHabitResponse second = result.getHabits().get(1);
+        assertEquals(11L, second.getId());
+        assertFalse(second.getCompletedToday());
+        assertEquals(1, second.getCurrentStreak());
+        assertEquals(3, second.getLongestStreak());
+
+        verify(habitRepository, times(1)).findByUser(user);
+        verify(completionService, times(1)).getCompletionDaysForUser(user);
+        verifyNoMoreInteractions(habitRepository, completionService);
+    }
+
+    @Test
+    void testTodayDashboardWithHabitWithoutCompletions() {
+        when(habitRepository.findByUser(user)).thenReturn(List.of(reading));
+        when(completionService.getCompletionDaysForUser(user)).thenReturn(List.of());
+
+        DashboardHabitResponse habit = dashboardService.getTodayDashboard(user).getHabits().get(0);
+
+        assertFalse(habit.getCompletedToday());
+        assertEquals(0, habit.getCurrentStreak());
+        assertEquals(0, habit.getLongestStreak());
+    }
+}
@@ -0,0 +1,77 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.web.Representation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private DataVersionService dataVersionService;
+
+    @Test
+    void testETagCarriesLatestChangeLogIdTodayAndRepresentation() {
+        when(changeLogRepository.findLatestIdByUserEmail("alice@example.com")).thenReturn(42L);
+
+        assertEquals("W/\"42-" + LocalDate.now().toEpochDay() + "-cbor\"",
+                dataVersionService.eTagFor("alice@example.com", Representation.CBOR));
+    }
+
+    @Test
+    void testRepresentationsGetDifferentETags() {
+        when(changeLogRepository.findLatestIdByUserEmail("alice@example.com")).thenReturn(42L);
+
+        assertNotEquals(dataVersionService.eTagFor("alice@example.com", Representation.JSON),
+                dataVersionService.eTagFor("alice@example.com", Representation.SMILE));
+    }
+
+    @Test
+    void testNewChangeLogEntryChangesTheETag() {
+        when(changeLogRepository.findLatestIdByUserEmail("alice@example.com")).thenReturn(7L, 8L);
+
+        String before = dataVersionService.eTagFor("alice@example.com", Representation.JSON);
+        String after = dataVersionService.eTagFor("alice@example.com", Representation.JSON);
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testETagIsWeak() {
+        String eTag = dataVersionService.eTagFor("alice@example.com", Representation.JSON);
+
+        assertTrue(eTag.startsWith("W/\"") && eTag.endsWith("\""));
+    }
+
+    @Test
+    void testReadIfModifiedSkipsTheLoaderOnMatch() {
+        when(changeLogRepository.findLatestIdByUserEmail("alice@example.com")).thenReturn(42L);
+
+        String body = dataVersionService.readIfModified("alice@example.com", Representation.JSON,
+                eTag -> true, eTag -> fail("loader must not run"));
+
+        assertNull(body);
+    }
+
+    @Test
+    void testReadIfModifiedPassesTheTagToTheLoader() {
+        when(changeLogRepository.findLatestIdByUserEmail("alice@example.com")).thenReturn(42L);
+
+        String body = dataVersionService.readIfModified("alice@example.com", Representation.JSON,
+                eTag -> false, eTag -> "body for " + eTag);
+
+        assertEquals("body for " + dataVersionService.eTagFor("alice@example.com", Representation.JSON), body);
+    }
+}
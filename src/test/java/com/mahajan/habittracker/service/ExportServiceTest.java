@@ -0,0 +1,86 @@
+package com.mahajan.habittracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahajan.habittracker.dto.ExportFormat;
+import com.mahajan.habittracker.dto.HabitExportRow;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.HabitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 1, 2);
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    private ExportService exportService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(habitRepository, new ObjectMapper());
+        user = User.builder().id(1L).email("test@test.com").build();
+    }
+
+    @Test
+    void testNdjsonExportWritesHabitLineThenCompletionLines() throws Exception {
+        when(habitRepository.streamExportRowsByUser(user)).thenReturn(Stream.of(
+                new HabitExportRow(10L, "Exercise", "Morning run", DAY_1),
+                new HabitExportRow(10L, "Exercise", "Morning run", DAY_2),
+                new HabitExportRow(11L, "Read", null, null)));
+
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertEquals(4, lines.length);
+        assertEquals("{\"type\":\"habit\",\"id\":10,\"name\":\"Exercise\",\"description\":\"Morning run\"}", lines[0]);
+        assertEquals("{\"type\":\"completion\",\"habitId\":10,\"completionDate\":\"2025-01-01\"}", lines[1]);
+        assertEquals("{\"type\":\"completion\",\"habitId\":10,\"completionDate\":\"2025-01-02\"}", lines[2]);
+        assertEquals("{\"type\":\"habit\",\"id\":11,\"name\":\"Read\",\"description\":null}", lines[3]);
+    }
+
+    @Test
+    void testCsvExportEscapesFieldsAndKeepsHabitsWithoutCompletions() throws Exception {
+        when(habitRepository.streamExportRowsByUser(user)).thenReturn(Stream.of(
+                new HabitExportRow(10L, "Run, walk", "Say \"hi\"", DAY_1),
+                new HabitExportRow(11L, "Read", null, null)));
+
+        String csv = export(ExportFormat.CSV);
+
+        assertEquals(ExportService.CSV_HEADER + "\n"
+                + "10,\"Run, walk\",\"Say \"\"hi\"\"\",2025-01-01\n"
+                + "11,Read,,\n", csv);
+    }
+
+    @Test
+    void testExportClosesRepositoryStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(habitRepository.streamExportRowsByUser(user))
+                .thenReturn(Stream.<HabitExportRow>empty().onClose(() -> closed.set(true)));
+
+        assertEquals("", export(ExportFormat.NDJSON));
+        assertTrue(closed.get());
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeExport(user, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,9 @@
 package com.mahajan.habittracker.service;
 
+import com.mahajan.habittracker.dto.HabitCompletionResponse;
 import com.mahajan.habittracker.exceptions.HabitAlreadyCompletedException;
 import com.mahajan.habittracker.exceptions.HabitCompletionNotFoundException;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.HabitCompletion;
 import com.mahajan.habittracker.model.User;
@@ -31,6 +33,9 @@ class HabitCompletionServiceTest {
     @Mock
     private HabitCompletionRepository completionRepository;
 
+    @Mock
+    private ChangeLogService changeLogService;
+
     @InjectMocks
     private HabitCompletionService completionService;
 
@@ -64,6 +69,8 @@ class HabitCompletionServiceTest {
         verify(completionRepository, times(1))
                 .existsByHabitAndUserAndCompletionDate(habit, user, TODAY);
         verify(completionRepository, times(1)).save(any(HabitCompletion.class));
+        verify(changeLogService, times(1)).beginChange(user);
+        verify(changeLogService, times(1)).completionChanged(user, TEST_HABIT_ID, TODAY, Operation.UPSERT);
     }
 
     @Test
@@ -75,6 +82,7 @@ class HabitCompletionServiceTest {
         verify(completionRepository, times(1))
                 .existsByHabitAndUserAndCompletionDate(habit, user, TODAY);
         verify(completionRepository, never()).save(any(HabitCompletion.class));
+        verify(changeLogService, never()).completionChanged(any(), any(), any(), any());
     }
 
     @Test
@@ -107,6 +115,32 @@ class HabitCompletionServiceTest {
                 .findAllByHabitAndUserOrderByCompletionDateDesc(habit, user);
     }
 
+    @Test
+    void testGetCompletionResponsesForHabit() {
+        List<HabitCompletionResponse> responses = List.of(
+                new HabitCompletionResponse(TEST_HABIT_ID, "Exercise", "Daily workout", TODAY),
+                new HabitCompletionResponse(TEST_HABIT_ID, "Exercise", "Daily workout", TODAY.minusDays(1)));
+        when(completionRepository.findResponsesByHabitAndUser(habit, user)).thenReturn(responses);
+
+        List<HabitCompletionResponse> result = completionService.getCompletionResponsesForHabit(habit, user);
+
+        assertEquals(responses, result);
+        verify(completionRepository, times(1)).findResponsesByHabitAndUser(habit, user);
+        verify(completionRepository, never()).findAllByHabitAndUserOrderByCompletionDateDesc(habit, user);
+    }
+
+    @Test
+    void testGetCompletionsByDate() {
+        List<HabitCompletionResponse> responses = List.of(
+                new HabitCompletionResponse(TEST_HABIT_ID, "Exercise", "Daily workout", TODAY));
+        when(completionRepository.findAllByUserAndCompletionDate(user, TODAY)).thenReturn(responses);
+
+        List<HabitCompletionResponse> result = completionService.getCompletionsByDate(user, TODAY);
+
+        assertEquals(responses, result);
+        verify(completionRepository, times(1)).findAllByUserAndCompletionDate(user, TODAY);
+    }
+
     @Test
     void testUnmarkCompletedSuccess() {
         HabitCompletion completion = HabitCompletion.builder()
@@ -124,6 +158,7 @@ class HabitCompletionServiceTest {
         verify(completionRepository, times(1))
                 .findByHabitAndUserAndCompletionDate(habit, user, TODAY);
         verify(completionRepository, times(1)).delete(completion);
+        verify(changeLogService, times(1)).completionChanged(user, TEST_HABIT_ID, TODAY, Operation.DELETE);
     }
 
     @Test
@@ -1,9 +1,16 @@
 package com.mahajan.habittracker.service;
 
+import com.mahajan.habittracker.dto.HabitCompletionDay;
+import com.mahajan.habittracker.dto.HeatmapResponse;
+import com.mahajan.habittracker.dto.StreakResult;
 import com.mahajan.habittracker.exceptions.HabitNotFoundException;
+import com.mahajan.habittracker.model.ChangeLogEntry.Operation;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.User;
 import com.mahajan.habittracker.repository.HabitRepository;
+import com.mahajan.habittracker.util.DayBitmapUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +18,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,6 +36,12 @@ class HabitServiceTest {
 
     @Mock
     private HabitRepository habitRepository;
+    @Mock
+    private HabitCompletionService completionService;
+    @Mock
+    private ChangeLogService changeLogService;
+    @Spy
+    private StreakCalculationService streakCalculationService = new StreakCalculationService(new SimpleMeterRegistry(), Tracer.NOOP);
     @InjectMocks
     private HabitService habitService;
 
@@ -70,6 +87,8 @@ class HabitServiceTest {
         Assertions.assertNotNull(result);
         assertHabitEquals(savedHabit, result);
         verify(habitRepository, times(1)).save(habit);
+        verify(changeLogService, times(1)).beginChange(user);
+        verify(changeLogService, times(1)).habitChanged(user, TEST_HABIT_ID, Operation.UPSERT);
     }
 
     @Test
@@ -83,6 +102,7 @@ class HabitServiceTest {
 
         assertHabitEquals(habit, result);
         verify(habitRepository, times(1)).save(habit);
+        verify(changeLogService, times(1)).habitChanged(user, TEST_HABIT_ID, Operation.UPSERT);
     }
 
     @Test
@@ -92,6 +112,7 @@ class HabitServiceTest {
         doNothing().when(habitRepository).delete(habit);
         habitService.deleteHabitForUser(TEST_HABIT_ID, user);
         verify(habitRepository, times(1)).delete(habit);
+        verify(changeLogService, times(1)).habitChanged(user, TEST_HABIT_ID, Operation.DELETE);
     }
 
     @Test
@@ -100,6 +121,7 @@ class HabitServiceTest {
                 .thenReturn(Optional.empty());
         assertHabitNotFound(() -> habitService.deleteHabitForUser(TEST_HABIT_ID, user));
         verify(habitRepository, times(0)).delete(habit);
+        verify(changeLogService, never()).habitChanged(any(), any(), any());
     }
 
     @Test
@@ -121,6 +143,30 @@ class HabitServiceTest {
         verify(habitRepository, times(1)).findByUser(user);
     }
 
+    @Test
+    void testGetHeatmapForUser() {
+        Habit other = Habit.builder().id(11L).name("Read").build();
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(habitRepository.findByUser(user)).thenReturn(List.of(habit, other));
+        when(completionService.getCompletionDaysBetween(user, from, to)).thenReturn(List.of(
+                new HabitCompletionDay(TEST_HABIT_ID, LocalDate.of(2025, 1, 1)),
+                new HabitCompletionDay(TEST_HABIT_ID, LocalDate.of(2025, 3, 1))));
+
+        HeatmapResponse result = habitService.getHeatmapForUser(user, 2025);
+
+        Assertions.assertEquals(2025, result.getYear());
+        Assertions.assertEquals(2, result.getHabits().size());
+        Assertions.assertEquals(TEST_HABIT_ID, result.getHabits().get(0).getHabitId());
+        byte[] bitmap = Base64.getDecoder().decode(result.getHabits().get(0).getDays());
+        Assertions.assertTrue(DayBitmapUtil.isSet(bitmap, LocalDate.of(2025, 1, 1)));
+        Assertions.assertTrue(DayBitmapUtil.isSet(bitmap, LocalDate.of(2025, 3, 1)));
+        Assertions.assertFalse(DayBitmapUtil.isSet(bitmap, LocalDate.of(2025, 1, 2)));
+        Assertions.assertEquals(DayBitmapUtil.toBase64(DayBitmapUtil.newYearBitmap()),
+                result.getHabits().get(1).getDays());
+        verify(completionService, times(1)).getCompletionDaysBetween(user, from, to);
+    }
+
     private void assertHabitNotFound(Executable executable) {
         HabitNotFoundException exception = assertThrows(HabitNotFoundException.class, executable);
         Assertions.assertEquals(
@@ -131,6 +177,25 @@ class HabitServiceTest {
                 findByIdAndUser(TEST_HABIT_ID, user);
     }
 
+    @Test
+    void testCalculateStreaksForHabitsUsesOneCompletionQuery() {
+        LocalDate today = LocalDate.now();
+        Habit other = Habit.builder().id(11L).name("Reading").build();
+        Habit never = Habit.builder().id(12L).name("Journaling").build();
+        when(completionService.getCompletionDaysForUser(user)).thenReturn(List.of(
+                new HabitCompletionDay(TEST_HABIT_ID, today),
+                new HabitCompletionDay(TEST_HABIT_ID, today.minusDays(1)),
+                new HabitCompletionDay(11L, today.minusDays(3))));
+
+        Map<Long, StreakResult> streaks = habitService.calculateStreaksForHabits(List.of(habit, other, never), user);
+
+        Assertions.assertEquals(new StreakResult(2, 2), streaks.get(TEST_HABIT_ID));
+        Assertions.assertEquals(new StreakResult(0, 1), streaks.get(11L));
+        Assertions.assertEquals(new StreakResult(0, 0), streaks.get(12L));
+        verify(completionService, times(1)).getCompletionDaysForUser(user);
+        verify(completionService, never()).getAllCompletionsForHabit(any(Habit.class), any(User.class));
+    }
+
     private void assertHabitEquals(Habit expected, Habit actual) {
         Assertions.assertEquals(expected.getId(), actual.getId());
         Assertions.assertEquals(expected.getName(), actual.getName());
@@ -0,0 +1,141 @@
+package com.mahajan.habittracker.service;
+
+import com.mahajan.habittracker.dto.HabitStatsResponse;
+import com.mahajan.habittracker.model.Habit;
+import com.mahajan.habittracker.model.User;
+import com.mahajan.habittracker.repository.ChangeLogRepository;
+import com.mahajan.habittracker.repository.HabitCompletionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HabitStatsServiceTest {
+
+    // A Sunday, so the weekday expectations below are easy to read
+    private static final LocalDate AS_OF = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private HabitCompletionRepository completionRepository;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private HabitStatsService statsService;
+
+    private Habit habit;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("test@test.com").build();
+        habit = Habit.builder().id(10L).name("Exercise").build();
+    }
+
+    @Test
+    void testRatesUseTrailingWindowsIncludingToday() {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            dates.add(AS_OF.minusDays(i));           // every day of the last week
+        }
+        dates.add(AS_OF.minusDays(20));              // inside 30
+        dates.add(AS_OF.minusDays(60));              // inside 90
+        dates.add(AS_OF.minusDays(364));             // first day of the 365 window
+        dates.add(AS_OF.minusDays(365));             // outside every window
+        dates.add(AS_OF);                            // duplicate
+
+        HabitStatsResponse stats = HabitStatsService.calculateStats(10L, dates, AS_OF);
+
+        assertEquals(AS_OF, stats.getAsOf());
+        assertEquals(1.0, stats.getLast7Days());
+        assertEquals(8 / 30.0, stats.getLast30Days());
+        assertEquals(9 / 90.0, stats.getLast90Days());
+        assertEquals(10 / 365.0, stats.getLast365Days());
+    }
+
+    @Test
+    void testWeekdayDistribution() {
+        List<LocalDate> dates = List.of(
+                AS_OF,                 // Sunday
+                AS_OF.minusDays(7),    // Sunday
+                AS_OF.minusDays(6),    // Monday
+                AS_OF.minusDays(3));   // Thursday
+
+        HabitStatsResponse stats = HabitStatsService.calculateStats(10L, dates, AS_OF);
+
+        assertEquals(2, stats.getCompletionsByWeekday().get(DayOfWeek.SUNDAY));
+        assertEquals(1, stats.getCompletionsByWeekday().get(DayOfWeek.MONDAY));
+        assertEquals(1, stats.getCompletionsByWeekday().get(DayOfWeek.THURSDAY));
+        assertEquals(0, stats.getCompletionsByWeekday().get(DayOfWeek.FRIDAY));
+        assertEquals(7, stats.getCompletionsByWeekday().size());
+    }
+
+    @Test
+    void testStatsAreImmutable() {
+        HabitStatsResponse stats = HabitStatsService.calculateStats(10L, List.of(AS_OF), AS_OF);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> stats.getCompletionsByWeekday().put(DayOfWeek.SUNDAY, 0));
+    }
+
+    @Test
+    void testStatsAreCachedUntilTheVersionChanges() {
+        when(changeLogRepository.findLatestIdByUserId(1L)).thenReturn(5L, 5L, 6L);
+        when(completionRepository.findCompletionDatesByHabitAndUserBetween(eq(habit), eq(user), any(), any()))
+                .thenReturn(List.of(LocalDate.now()));
+
+        HabitStatsResponse first = statsService.getStatsForHabit(habit, user);
+        HabitStatsResponse second = statsService.getStatsForHabit(habit, user);
+
+        assertSame(first, second);
+        verify(completionRepository, times(1))
+                .findCompletionDatesByHabitAndUserBetween(eq(habit), eq(user), any(), any());
+
+        // A write through any instance moves the version
+        HabitStatsResponse third = statsService.getStatsForHabit(habit, user);
+
+        assertNotSame(first, third);
+        verify(completionRepository, times(2))
+                .findCompletionDatesByHabitAndUserBetween(eq(habit), eq(user), any(), any());
+    }
+
+    @Test
+    void testOlderVersionDoesNotReplaceANewerEntry() {
+        // Primary at version 6, then a lagging replica still at 5, then the primary again
+        when(changeLogRepository.findLatestIdByUserId(1L)).thenReturn(6L, 5L, 6L);
+        when(completionRepository.findCompletionDatesByHabitAndUserBetween(eq(habit), eq(user), any(), any()))
+                .thenReturn(List.of(LocalDate.now()), List.of());
+
+        HabitStatsResponse fromPrimary = statsService.getStatsForHabit(habit, user);
+        HabitStatsResponse fromReplica = statsService.getStatsForHabit(habit, user);
+        HabitStatsResponse again = statsService.getStatsForHabit(habit, user);
+
+        assertEquals(0.0, fromReplica.getLast7Days());
+        assertSame(fromPrimary, again);
+    }
+
+    @Test
+    void testQueriesOnlyTheLast365Days() {
+        LocalDate today = LocalDate.now();
+        when(completionRepository.findCompletionDatesByHabitAndUserBetween(habit, user, today.minusDays(364), today))
+                .thenReturn(List.of());
+
+        HabitStatsResponse stats = statsService.getStatsForHabit(habit, user);
+
+        assertEquals(0.0, stats.getLast365Days());
+    }
+}
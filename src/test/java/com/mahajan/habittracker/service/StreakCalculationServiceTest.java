@@ -4,6 +4,8 @@ import com.mahajan.habittracker.dto.StreakResult;
 import com.mahajan.habittracker.model.Habit;
 import com.mahajan.habittracker.model.HabitCompletion;
 import com.mahajan.habittracker.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,7 +24,7 @@ class StreakCalculationServiceTest {
 
     @BeforeEach
     void setUp() {
-        streakCalculationService = new StreakCalculationService();
+        streakCalculationService = new StreakCalculationService(new SimpleMeterRegistry(), Tracer.NOOP);
         habit = Habit.builder().id(1L).name("Test Habit").build();
         user = User.builder().id(1L).email("test@example.com").build();
     }
@@ -225,6 +227,41 @@ class StreakCalculationServiceTest {
         assertThat(result.longestStreak()).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Should calculate streaks from raw dates, ignoring order and duplicates")
+    void testStreaksFromUnorderedDates() {
+        LocalDate today = LocalDate.now();
+
+        StreakResult result = streakCalculationService.calculateStreaksFromDates(List.of(
+                today.minusDays(1),
+                today,
+                today.minusDays(1),
+                today.minusDays(6),
+                today.minusDays(5),
+                today.minusDays(4)
+        ));
+
+        assertThat(result.currentStreak()).isEqualTo(2);
+        assertThat(result.longestStreak()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should time each calculation, tagged by history size bucket")
+    void testCalculationIsTimedByHistoryBucket() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StreakCalculationService timedService = new StreakCalculationService(registry, Tracer.NOOP);
+        LocalDate today = LocalDate.now();
+
+        timedService.calculateStreaks(new ArrayList<>());
+        timedService.calculateStreaksFromDates(List.of(today, today.minusDays(1)));
+        timedService.calculateStreaksFromDates(List.of(today));
+
+        assertThat(registry.get("habit.streaks.calculation").tag("history", "0").timer().count()).isEqualTo(1);
+        assertThat(registry.get("habit.streaks.calculation").tag("history", "1-7").timer().count()).isEqualTo(2);
+        assertThat(StreakCalculationService.historyBucket(30)).isEqualTo("8-30");
+        assertThat(StreakCalculationService.historyBucket(366)).isEqualTo("366+");
+    }
+
     private HabitCompletion createCompletion(LocalDate date) {
         return HabitCompletion.builder()
                 .habit(habit)
@@ -0,0 +1,37 @@
+package com.mahajan.habittracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayBitmapUtilTest {
+
+    @Test
+    void testEmptyYearEncodesTo46ZeroBytes() {
+        byte[] bitmap = DayBitmapUtil.newYearBitmap();
+
+        String encoded = DayBitmapUtil.toBase64(bitmap);
+
+        assertEquals(46, bitmap.length);
+        assertEquals(64, encoded.length());
+        assertArrayEquals(new byte[46], Base64.getDecoder().decode(encoded));
+    }
+
+    @Test
+    void testSetDayUsesDayOfYearLittleEndianBits() {
+        byte[] bitmap = DayBitmapUtil.newYearBitmap();
+
+        DayBitmapUtil.setDay(bitmap, LocalDate.of(2024, 1, 1));   // bit 0
+        DayBitmapUtil.setDay(bitmap, LocalDate.of(2024, 1, 10));  // bit 9
+        DayBitmapUtil.setDay(bitmap, LocalDate.of(2024, 12, 31)); // bit 365 (leap year)
+
+        assertEquals(0b0000_0001, bitmap[0]);
+        assertEquals(0b0000_0010, bitmap[1]);
+        assertEquals(0b0010_0000, bitmap[45]);
+        assertTrue(DayBitmapUtil.isSet(bitmap, LocalDate.of(2024, 1, 10)));
+        assertFalse(DayBitmapUtil.isSet(bitmap, LocalDate.of(2024, 1, 11)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.mahajan.habittracker.web;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredJsonFlushFilterTest {
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testJsonFlushesDoNotCommitTheResponse() throws Exception {
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"email\":\"a@example.com\"}".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            res.flushBuffer();
+        };
+
+        new DeferredJsonFlushFilter().doFilter(request, response, chain);
+
+        assertFalse(response.isCommitted(), "Tomcat can still set Content-Length when the response completes");
+        assertEquals("{\"email\":\"a@example.com\"}", response.getContentAsString());
+    }
+
+    @Test
+    void testConfiguredBinaryTypesAreDeferredToo() throws Exception {
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/cbor");
+            res.getOutputStream().write(new byte[]{(byte) 0x80});
+            res.getOutputStream().flush();
+        };
+
+        new DeferredJsonFlushFilter(List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR))
+                .doFilter(request, response, chain);
+
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void testOtherContentTypesStillFlush() throws Exception {
+        FilterChain chain = (req, res) -> {
+            res.setContentType("text/event-stream");
+            res.getOutputStream().write("data: {}\n\n".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+        };
+
+        new DeferredJsonFlushFilter().doFilter(request, response, chain);
+
+        assertTrue(response.isCommitted());
+    }
+}
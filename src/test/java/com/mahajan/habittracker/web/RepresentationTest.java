@@ -0,0 +1,70 @@
+package com.mahajan.habittracker.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepresentationTest {
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/habits");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testNoAcceptIsJson() {
+        assertEquals(Representation.JSON, negotiate());
+    }
+
+    @Test
+    void testWildcardIsJson() {
+        request.addHeader("Accept", "*/*");
+
+        assertEquals(Representation.JSON, negotiate());
+    }
+
+    @Test
+    void testBinaryFormats() {
+        request.addHeader("Accept", "application/cbor");
+        assertEquals(Representation.CBOR, negotiate());
+
+        request = new MockHttpServletRequest("GET", "/api/habits");
+        request.addHeader("Accept", "application/x-jackson-smile");
+        assertEquals(Representation.SMILE, negotiate());
+    }
+
+    @Test
+    void testHighestQualityWins() {
+        request.addHeader("Accept", "application/json;q=0.5, application/cbor");
+
+        assertEquals(Representation.CBOR, negotiate());
+    }
+
+    @Test
+    void testUnparseableAcceptIsJson() {
+        request.addHeader("Accept", "not a media type");
+
+        assertEquals(Representation.JSON, negotiate());
+    }
+
+    @Test
+    void testResponseVariesByAccept() {
+        negotiate();
+
+        assertEquals(List.of("Accept"), response.getHeaders("Vary"));
+    }
+
+    private Representation negotiate() {
+        return Representation.negotiate(new ServletWebRequest(request, response));
+    }
+}
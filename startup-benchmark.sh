@@ -0,0 +1,87 @@
+#!/bin/bash
+
+# Startup benchmark: time from launching the app to its first successful /readyz and /api/auth/login.
+#
+# Usage: ./startup-benchmark.sh [runs] -- <command that starts the app in the foreground>
+#   ./startup-benchmark.sh 5 -- java -jar target/habit-tracker-0.0.1-SNAPSHOT.jar
+#   ./startup-benchmark.sh 5 -- docker run --rm -p 8080:8080 --env-file .env habit-tracker
+#   ./startup-benchmark.sh 5 -- docker run --rm -p 8080:8080 --env-file .env habit-tracker-aot
+#
+# The app must point at a database it can write to (never production). An untimed setup run signs up
+# the benchmark user first, so every measured run logs in against an existing account.
+#
+# Environment: BASE_URL (default http://localhost:8080), BENCH_EMAIL, BENCH_PASSWORD, TIMEOUT_SECONDS (default 120)
+
+RUNS=${1:-5}
+shift
+if [ "$1" != "--" ] || [ -z "$2" ]; then
+    echo "Usage: $0 [runs] -- <start command>"
+    exit 1
+fi
+shift
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+BENCH_EMAIL=${BENCH_EMAIL:-startup-benchmark@example.com}
+BENCH_PASSWORD=${BENCH_PASSWORD:-startup-benchmark}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+CREDENTIALS="{\"email\":\"$BENCH_EMAIL\",\"password\":\"$BENCH_PASSWORD\"}"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Polls until the request returns 200; prints the elapsed ms since $1, or fails after the timeout
+wait_for_200() {
+    local started=$1; shift
+    while [ $(( $(now_ms) - started )) -lt $(( TIMEOUT_SECONDS * 1000 )) ]; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$@")" = "200" ]; then
+            echo $(( $(now_ms) - started ))
+            return 0
+        fi
+        sleep 0.05
+    done
+    return 1
+}
+
+stop_app() {
+    kill "$1" 2>/dev/null
+    wait "$1" 2>/dev/null
+}
+
+login() {
+    wait_for_200 "$1" -X POST "$BASE_URL/api/auth/login" -H "Content-Type: application/json" -d "$CREDENTIALS"
+}
+
+echo "🔧 Setup run (signs up $BENCH_EMAIL, not timed)"
+"$@" > /dev/null 2>&1 &
+APP_PID=$!
+if ! wait_for_200 "$(now_ms)" "$BASE_URL/readyz" > /dev/null; then
+    echo "❌ /readyz did not answer within ${TIMEOUT_SECONDS}s"
+    stop_app $APP_PID
+    exit 1
+fi
+curl -s -o /dev/null -X POST "$BASE_URL/api/auth/signup" -H "Content-Type: application/json" -d "$CREDENTIALS"
+stop_app $APP_PID
+
+HEALTH_TIMES=()
+LOGIN_TIMES=()
+for run in $(seq 1 "$RUNS"); do
+    STARTED=$(now_ms)
+    "$@" > /dev/null 2>&1 &
+    APP_PID=$!
+
+    HEALTH_MS=$(wait_for_200 "$STARTED" "$BASE_URL/readyz") || { echo "❌ Run $run: /readyz timed out"; stop_app $APP_PID; exit 1; }
+    LOGIN_MS=$(login "$STARTED") || { echo "❌ Run $run: login timed out"; stop_app $APP_PID; exit 1; }
+    stop_app $APP_PID
+
+    echo "Run $run: /readyz ${HEALTH_MS} ms, login ${LOGIN_MS} ms"
+    HEALTH_TIMES+=("$HEALTH_MS")
+    LOGIN_TIMES+=("$LOGIN_MS")
+done
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+echo ""
+echo "✅ Median over $RUNS runs: first /readyz $(median "${HEALTH_TIMES[@]}") ms, first login $(median "${LOGIN_TIMES[@]}") ms"